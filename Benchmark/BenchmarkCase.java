@@ -0,0 +1,57 @@
+package Benchmark;
+
+/**
+ * A single measured operation with fixed parameters.
+ * setUp is called once before warming up, run is called repeatedly and its result is consumed
+ * by the runner so the JIT cannot eliminate the measured work.
+ */
+public abstract class BenchmarkCase {
+    private final String name; // Name of benchmark, e.g. "World.randWorld".
+    private final String params; // Parameters of this case, e.g. "width=80,height=30".
+
+    public BenchmarkCase(String name, String params) {
+        if (name == null) {
+            throw new IllegalArgumentException("Cannot initiate benchmark case with null name.");
+        }
+        this.name = name;
+        this.params = params == null ? "" : params;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String params() {
+        return params;
+    }
+
+    /**
+     * Full identity of this case, used for filtering and reporting.
+     */
+    public String id() {
+        if (params.isEmpty()) {
+            return name;
+        }
+        return name + "[" + params + "]";
+    }
+
+    /**
+     * Prepare state shared by all invocations, not measured.
+     */
+    public void setUp() {
+        // Do nothing.
+    }
+
+    /**
+     * Prepare state before each invocation, not measured.
+     */
+    public void setUpInvocation() {
+        // Do nothing.
+    }
+
+    /**
+     * The measured operation.
+     * @return any result of the operation, consumed by the runner.
+     */
+    public abstract Object run();
+}
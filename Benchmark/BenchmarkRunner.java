@@ -0,0 +1,206 @@
+package Benchmark;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Headless benchmark harness, runs every case through warmup and measurement iterations and reports
+ * average time per operation. Results can be written as JSON in the layout of JMH result files,
+ * so the output of two runs can be diffed.
+ *
+ * Usage: java Benchmark.BenchmarkRunner [-f regex] [-wi warmupIterations] [-i iterations]
+ *                                       [-t iterationMillis] [-rf resultFile.json]
+ */
+public class BenchmarkRunner {
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+    private volatile Object sink; // Consumes results of operations, preventing dead code elimination.
+
+    /**
+     * Measured result of one benchmark case.
+     */
+    public static class Result {
+        public final BenchmarkCase benchmarkCase;
+        public final double[] iterationScores; // Average ns/op of each measurement iteration.
+        public final long operations; // Total measured operations.
+
+        public Result(BenchmarkCase benchmarkCase, double[] iterationScores, long operations) {
+            this.benchmarkCase = benchmarkCase;
+            this.iterationScores = iterationScores;
+            this.operations = operations;
+        }
+
+        public double score() {
+            double sum = 0;
+            for (double score: iterationScores) {
+                sum += score;
+            }
+            return iterationScores.length == 0 ? 0 : sum / iterationScores.length;
+        }
+
+        /**
+         * Standard deviation of iteration scores.
+         */
+        public double scoreError() {
+            if (iterationScores.length < 2) {
+                return 0;
+            }
+            double mean = score();
+            double sqrSum = 0;
+            for (double score: iterationScores) {
+                sqrSum += (score - mean) * (score - mean);
+            }
+            return Math.sqrt(sqrSum / (iterationScores.length - 1));
+        }
+    }
+
+    public BenchmarkRunner(int warmupIterations, int measureIterations, long iterationMillis) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warmup iterations cannot be negative: " + warmupIterations);
+        }
+        if (measureIterations <= 0) {
+            throw new IllegalArgumentException("Measurement iterations must be positive: " + measureIterations);
+        }
+        if (iterationMillis <= 0) {
+            throw new IllegalArgumentException("Iteration time must be positive: " + iterationMillis);
+        }
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * Run one iteration, which invokes the case until the iteration time passes, at least once.
+     * @return measured operation count at index 0 and measured nanoseconds at index 1.
+     */
+    private long[] iterate(BenchmarkCase benchmarkCase) {
+        long operations = 0;
+        long measuredNanos = 0;
+        long iterationStart = System.nanoTime();
+        do {
+            benchmarkCase.setUpInvocation();
+            long start = System.nanoTime();
+            Object result = benchmarkCase.run();
+            measuredNanos += System.nanoTime() - start;
+            sink = result;
+            operations++;
+        } while (System.nanoTime() - iterationStart < iterationNanos);
+        return new long[]{operations, measuredNanos};
+    }
+
+    public Result run(BenchmarkCase benchmarkCase) {
+        benchmarkCase.setUp();
+        for (int i = 0; i < warmupIterations; i++) {
+            iterate(benchmarkCase);
+        }
+        double[] scores = new double[measureIterations];
+        long totalOperations = 0;
+        for (int i = 0; i < measureIterations; i++) {
+            long[] measured = iterate(benchmarkCase);
+            scores[i] = (double) measured[1] / measured[0];
+            totalOperations += measured[0];
+        }
+        return new Result(benchmarkCase, scores, totalOperations);
+    }
+
+    /**
+     * Write results as JSON array, the same fields as JMH "-rf json" output for average time mode.
+     */
+    public static void writeJson(List<Result> results, Writer writer) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            json.append("    {\n");
+            json.append("        \"benchmark\" : \"").append(escape(result.benchmarkCase.name())).append("\",\n");
+            json.append("        \"mode\" : \"avgt\",\n");
+            json.append("        \"params\" : {");
+            String params = result.benchmarkCase.params();
+            if (!params.isEmpty()) {
+                String[] pairs = params.split(",");
+                for (int j = 0; j < pairs.length; j++) {
+                    String[] keyValue = pairs[j].split("=", 2);
+                    String value = keyValue.length > 1 ? keyValue[1] : "";
+                    json.append(j == 0 ? " " : ", ");
+                    json.append('"').append(escape(keyValue[0])).append("\" : \"").append(escape(value)).append('"');
+                }
+                json.append(' ');
+            }
+            json.append("},\n");
+            json.append("        \"operations\" : ").append(result.operations).append(",\n");
+            json.append("        \"primaryMetric\" : {\n");
+            json.append("            \"score\" : ").append(format(result.score())).append(",\n");
+            json.append("            \"scoreError\" : ").append(format(result.scoreError())).append(",\n");
+            json.append("            \"scoreUnit\" : \"ns/op\",\n");
+            json.append("            \"rawData\" : [");
+            for (int j = 0; j < result.iterationScores.length; j++) {
+                json.append(j == 0 ? "" : ", ").append(format(result.iterationScores[j]));
+            }
+            json.append("]\n");
+            json.append("        }\n");
+            json.append("    }").append(i == results.size() - 1 ? "\n" : ",\n");
+        }
+        json.append("]\n");
+        writer.write(json.toString());
+        writer.flush();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String escape(String str) {
+        return str.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        Pattern filter = null;
+        int warmupIterations = 3;
+        int measureIterations = 5;
+        long iterationMillis = 1000;
+        String resultFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                System.out.println("Missing value of option " + args[i]);
+                System.exit(1);
+            }
+            switch (args[i]) {
+                case "-f" -> filter = Pattern.compile(args[++i]);
+                case "-wi" -> warmupIterations = Integer.parseInt(args[++i]);
+                case "-i" -> measureIterations = Integer.parseInt(args[++i]);
+                case "-t" -> iterationMillis = Long.parseLong(args[++i]);
+                case "-rf" -> resultFile = args[++i];
+                default -> {
+                    System.out.println("Unknown option " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+        BenchmarkRunner runner = new BenchmarkRunner(warmupIterations, measureIterations, iterationMillis);
+        List<Result> results = new ArrayList<>();
+        for (BenchmarkCase benchmarkCase: Benchmarks.all()) {
+            if (filter != null && !filter.matcher(benchmarkCase.id()).find()) {
+                continue;
+            }
+            Result result = runner.run(benchmarkCase);
+            results.add(result);
+            System.out.printf(Locale.ROOT, "%-60s %16.3f +- %12.3f ns/op%n",
+                    benchmarkCase.id(), result.score(), result.scoreError());
+        }
+        if (resultFile != null) {
+            try (Writer writer = new FileWriter(resultFile)) {
+                writeJson(results, writer);
+            } catch (IOException e) {
+                System.out.println(e);
+                System.exit(1);
+            }
+        }
+    }
+}
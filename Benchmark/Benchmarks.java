@@ -0,0 +1,317 @@
+package Benchmark;
+
+import Core.PointUtils;
+import Entity.RectRoom;
+import Entity.RectRooms;
+import Entity.World;
+import Entity.WorldFile;
+import PriorityQueue.ArrayHeapMinPQ;
+import PriorityQueue.DoubleMapPQ;
+import PriorityQueue.ExtrinsicMinPQ;
+import TileEngine.TETile;
+import TileEngine.Tileset;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark cases of generation, routing, priority queue and rendering hot paths.
+ */
+public class Benchmarks {
+    private static final long SEED = 42;
+    private static final int[][] WORLD_SIZES = {{80, 30}, {200, 100}, {500, 500}, {1000, 1000}, {2000, 2000}};
+    private static final int TRACE_GRID_SIZE = 400;
+    private static final int[] PQ_SIZES = {1000, 10000};
+    private static final int[] ROOM_COUNTS = {1000, 5000};
+    private static final int[][] TILES_SIZES = {{80, 30}, {1000, 1000}};
+    private static final int[][] SAVE_SIZES = {{80, 30}, {1000, 1000}};
+
+    /**
+     * All registered benchmark cases.
+     */
+    public static List<BenchmarkCase> all() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        addRandWorldCases(cases);
+        addShortestTraceCases(cases);
+        addPriorityQueueCases(cases);
+        addRectRoomsCases(cases);
+        addTilesToStringCases(cases);
+        addSaveLoadCases(cases);
+        return cases;
+    }
+
+    private static void addRandWorldCases(List<BenchmarkCase> cases) {
+        for (int[] size: WORLD_SIZES) {
+            final int width = size[0];
+            final int height = size[1];
+            cases.add(new BenchmarkCase("World.randWorld", "width=" + width + ",height=" + height) {
+                private World world;
+
+                @Override
+                public void setUp() {
+                    world = new World(width, height);
+                }
+
+                @Override
+                public Object run() {
+                    world.randWorld(SEED);
+                    return world;
+                }
+            });
+            cases.add(new BenchmarkCase("World.randWorld", "width=" + width + ",height=" + height
+                    + ",placement=" + World.RoomPlacement.PARALLEL_REGIONS) {
+                private World world;
+
+                @Override
+                public void setUp() {
+                    world = new World(width, height);
+                    world.setRoomPlacement(World.RoomPlacement.PARALLEL_REGIONS);
+                }
+
+                @Override
+                public Object run() {
+                    world.randWorld(SEED);
+                    return world;
+                }
+            });
+            cases.add(new BenchmarkCase("World.randWorld", "width=" + width + ",height=" + height
+                    + ",routing=" + World.HallwayRouting.PARALLEL) {
+                private World world;
+
+                @Override
+                public void setUp() {
+                    world = new World(width, height);
+                    world.setHallwayRouting(World.HallwayRouting.PARALLEL);
+                }
+
+                @Override
+                public Object run() {
+                    world.randWorld(SEED);
+                    return world;
+                }
+            });
+        }
+    }
+
+    private static void addShortestTraceCases(List<BenchmarkCase> cases) {
+        final int maxXY = TRACE_GRID_SIZE - 1;
+        final Point start = new Point(0, 0);
+        final Point end = new Point(maxXY, maxXY);
+        cases.add(new BenchmarkCase("PointUtils.shortestTrace", "grid=open,size=" + TRACE_GRID_SIZE) {
+            private final HashSet<Point> blocks = new HashSet<>();
+
+            @Override
+            public Object run() {
+                return PointUtils.shortestTrace(start, end, blocks, 0, 0, maxXY, maxXY);
+            }
+        });
+        cases.add(new BenchmarkCase("PointUtils.shortestTrace", "grid=cluttered,size=" + TRACE_GRID_SIZE) {
+            private final HashSet<Point> blocks = new HashSet<>();
+
+            @Override
+            public void setUp() {
+                // Walls on every 4th column with a gap alternating at the top and the bottom,
+                // forcing the trace to serpentine through the whole grid.
+                final int WALL_SPACING = 4;
+                for (int x = WALL_SPACING; x < maxXY; x += WALL_SPACING) {
+                    boolean gapAtTop = (x / WALL_SPACING) % 2 == 1;
+                    for (int y = 0; y <= maxXY; y++) {
+                        if (gapAtTop && y == maxXY || !gapAtTop && y == 0) {
+                            continue;
+                        }
+                        blocks.add(new Point(x, y));
+                    }
+                }
+            }
+
+            @Override
+            public Object run() {
+                return PointUtils.shortestTrace(start, end, blocks, 0, 0, maxXY, maxXY);
+            }
+        });
+    }
+
+    private static void addPriorityQueueCases(List<BenchmarkCase> cases) {
+        for (int size: PQ_SIZES) {
+            cases.add(priorityQueueCase("ArrayHeapMinPQ", size, ArrayHeapMinPQ::new));
+            cases.add(priorityQueueCase("DoubleMapPQ", size, DoubleMapPQ::new));
+        }
+    }
+
+    /**
+     * Add all items, change priority of every item once, then remove all items.
+     */
+    private static BenchmarkCase priorityQueueCase(String pqName, int size, Supplier<ExtrinsicMinPQ<Integer>> pqSupplier) {
+        return new BenchmarkCase(pqName + ".mixed", "size=" + size) {
+            private Integer[] items;
+            private double[] priorities;
+            private double[] changedPriorities;
+
+            @Override
+            public void setUp() {
+                Random random = new Random(SEED);
+                items = new Integer[size];
+                priorities = new double[size];
+                changedPriorities = new double[size];
+                for (int i = 0; i < size; i++) {
+                    items[i] = i;
+                    priorities[i] = random.nextDouble();
+                    changedPriorities[i] = random.nextDouble();
+                }
+            }
+
+            @Override
+            public Object run() {
+                ExtrinsicMinPQ<Integer> pq = pqSupplier.get();
+                for (int i = 0; i < size; i++) {
+                    pq.add(items[i], priorities[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    pq.changePriority(items[i], changedPriorities[i]);
+                }
+                int checksum = 0;
+                while (pq.size() > 0) {
+                    checksum = checksum * 31 + pq.removeSmallest();
+                }
+                return checksum;
+            }
+        };
+    }
+
+    private static void addRectRoomsCases(List<BenchmarkCase> cases) {
+        for (int roomCount: ROOM_COUNTS) {
+            cases.add(new BenchmarkCase("RectRooms.add", "attempts=" + roomCount) {
+                private final List<RectRoom> candidates = new ArrayList<>();
+
+                @Override
+                public void setUp() {
+                    // Small rooms scattered on a world large enough to accept most of them.
+                    final int MAX_ROOM_SIDE = 8;
+                    int worldSide = (int) Math.sqrt(roomCount) * (MAX_ROOM_SIDE + 2) * 2;
+                    Random random = new Random(SEED);
+                    for (int i = 0; i < roomCount; i++) {
+                        int roomWidth = random.nextInt(MAX_ROOM_SIDE) + 1;
+                        int roomHeight = random.nextInt(MAX_ROOM_SIDE) + 1;
+                        int roomX = random.nextInt(worldSide - roomWidth - 1) + 1;
+                        int roomY = random.nextInt(worldSide - roomHeight - 1) + 1;
+                        candidates.add(new RectRoom(roomX, roomY, roomWidth, roomHeight, Tileset.FLOOR, Tileset.WALL));
+                    }
+                }
+
+                @Override
+                public Object run() {
+                    RectRooms rooms = new RectRooms();
+                    for (RectRoom candidate: candidates) {
+                        rooms.add(candidate);
+                    }
+                    return rooms;
+                }
+            });
+        }
+    }
+
+    private static void addTilesToStringCases(List<BenchmarkCase> cases) {
+        for (int[] size: TILES_SIZES) {
+            final int width = size[0];
+            final int height = size[1];
+            cases.add(new BenchmarkCase("TETile.toString", "width=" + width + ",height=" + height) {
+                private TETile[][] tiles;
+
+                @Override
+                public void setUp() {
+                    World world = new World(width, height);
+                    world.randWorld(SEED);
+                    tiles = world.tiles();
+                }
+
+                @Override
+                public Object run() {
+                    return TETile.toString(tiles);
+                }
+            });
+        }
+    }
+
+    private static void addSaveLoadCases(List<BenchmarkCase> cases) {
+        for (int[] size: SAVE_SIZES) {
+            final String params = "width=" + size[0] + ",height=" + size[1];
+            cases.add(new SaveLoadCase("WorldFile.saveLoad", params, size[0], size[1]) {
+                @Override
+                byte[] save(World world) throws IOException {
+                    ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+                    WorldFile.write(world, Channels.newChannel(outStream));
+                    return outStream.toByteArray();
+                }
+
+                @Override
+                World load(byte[] data) throws IOException {
+                    return WorldFile.read(Channels.newChannel(new ByteArrayInputStream(data)));
+                }
+            });
+            cases.add(new SaveLoadCase("ObjectOutputStream.saveLoad", params, size[0], size[1]) {
+                @Override
+                byte[] save(World world) throws IOException {
+                    ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+                    try (ObjectOutputStream objectOutStream = new ObjectOutputStream(outStream)) {
+                        objectOutStream.writeObject(world);
+                    }
+                    return outStream.toByteArray();
+                }
+
+                @Override
+                World load(byte[] data) throws IOException {
+                    try (ObjectInputStream objectInStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                        return (World) objectInStream.readObject();
+                    } catch (ClassNotFoundException e) {
+                        throw new IOException(e);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Save a generated world into memory and load it back.
+     */
+    private abstract static class SaveLoadCase extends BenchmarkCase {
+        private final int width;
+        private final int height;
+        private World world;
+
+        SaveLoadCase(String name, String params, int width, int height) {
+            super(name, params);
+            this.width = width;
+            this.height = height;
+        }
+
+        abstract byte[] save(World world) throws IOException;
+
+        abstract World load(byte[] data) throws IOException;
+
+        @Override
+        public void setUp() {
+            world = new World(width, height);
+            world.randWorld(SEED);
+        }
+
+        @Override
+        public Object run() {
+            try {
+                return load(save(world));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -1,14 +1,36 @@
 package Core;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class Config {
     public final String FILE_NAME = ".save_data";
+    public final String JOURNAL_FILE_NAME = ".save_journal";
+    public final String CHUNKED_FILE_NAME = ".save_chunked";
+    public final int DEFAULT_VIEW_WIDTH = 80;
+    public final int DEFAULT_VIEW_HEIGHT = 30;
+    public final int DEFAULT_CAMERA_MARGIN = 5;
     public final int worldWidth;
     public final int worldHeight;
     public final int frameWidth;
     public final int frameHeight;
     public boolean hideInterface;
+    public SaveMode saveMode; // How the world is saved when quitting.
+    public final Path saveDirectory; // Directory of saved files.
+    public boolean fogOfWar; // Whether only tiles seen by the user are drawn.
+    public int viewWidth; // Width in tiles of the part of world shown, the view scrolls in wider worlds.
+    public int viewHeight; // Height in tiles of the part of world shown, the view scrolls in taller worlds.
+    public int cameraMargin; // Distance in tiles kept between the user and the border of view.
+    public boolean smoothScrolling; // Whether the view scrolls gradually instead of jumping.
+    public boolean printLatencyMetrics; // Whether latency histograms of world interface are printed on exit.
+    public boolean chunkedWorld; // Whether games play a world without fixed size, generated chunk by chunk.
 
     public Config(int worldWidth, int worldHeight, int frameWidth, int frameHeight, boolean hideInterface) {
+        this(worldWidth, worldHeight, frameWidth, frameHeight, hideInterface, Paths.get(""));
+    }
+
+    public Config(int worldWidth, int worldHeight, int frameWidth, int frameHeight, boolean hideInterface,
+                  Path saveDirectory) {
         if (worldWidth <= 0) {
             throw new IllegalArgumentException("Width of world cannot less than or equals to zero.");
         }
@@ -21,10 +43,43 @@ public class Config {
         if (frameHeight <= 0) {
             throw new IllegalArgumentException("Height of frame cannot less than or equals to zero.");
         }
+        if (saveDirectory == null) {
+            throw new IllegalArgumentException("Directory of saved files cannot be null.");
+        }
         this.worldWidth = worldWidth;
         this.worldHeight = worldHeight;
         this.frameWidth = frameWidth;
         this.frameHeight = frameHeight;
         this.hideInterface = hideInterface;
+        this.saveMode = SaveMode.JOURNAL;
+        this.saveDirectory = saveDirectory;
+        this.fogOfWar = true;
+        this.viewWidth = DEFAULT_VIEW_WIDTH;
+        this.viewHeight = DEFAULT_VIEW_HEIGHT;
+        this.cameraMargin = DEFAULT_CAMERA_MARGIN;
+        this.smoothScrolling = true;
+        this.printLatencyMetrics = false;
+        this.chunkedWorld = false;
+    }
+
+    /**
+     * Path of the saved world.
+     */
+    public Path savePath() {
+        return saveDirectory.resolve(FILE_NAME);
+    }
+
+    /**
+     * Path of the saved journal of world.
+     */
+    public Path journalPath() {
+        return saveDirectory.resolve(JOURNAL_FILE_NAME);
+    }
+
+    /**
+     * Path of the saved chunked world.
+     */
+    public Path chunkedSavePath() {
+        return saveDirectory.resolve(CHUNKED_FILE_NAME);
     }
 }
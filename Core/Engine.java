@@ -3,6 +3,7 @@ package Core;
 import Input.InputDevice;
 import Input.KeyboardInput;
 import Input.StringInput;
+import UserInterfaceEngine.ChunkedWorldInterface;
 import UserInterfaceEngine.UserInterface;
 import UserInterfaceEngine.MainMenuInterface;
 import UserInterfaceEngine.WorldInterface;
@@ -21,7 +22,18 @@ public class Engine {
     private TETile[][] worldTiles; // Tiles of world representing last state of world.
 
     public Engine () {
-        this.config = new Config(WORLD_WIDTH, WORLD_HEIGHT, FRAME_WIDTH, FRAME_HEIGHT, false);
+        this(new Config(WORLD_WIDTH, WORLD_HEIGHT, FRAME_WIDTH, FRAME_HEIGHT, false));
+    }
+
+    /**
+     * Engine of its own config, e.g. headless engine saving to its own directory.
+     * @param config config of this engine.
+     */
+    public Engine (Config config) {
+        if (config == null) {
+            throw new IllegalArgumentException("Cannot instantiate engine with null config.");
+        }
+        this.config = config;
         this.worldTiles = null;
     }
 
@@ -40,6 +52,11 @@ public class Engine {
             userInterface.start(input);
             if (userInterface instanceof WorldInterface) {
                 this.worldTiles = ((WorldInterface) userInterface).worldTiles();
+            } else if (userInterface instanceof ChunkedWorldInterface) {
+                this.worldTiles = ((ChunkedWorldInterface) userInterface).worldTiles();
+            }
+            if (userInterface.quitRequested()) {
+                break;
             }
             if (userInterface.possibleNextInterface()) {
                 userInterfaces.addLast(userInterface.getNextInterface());
@@ -54,6 +71,11 @@ public class Engine {
     public void interactWithKeyboard() {
         KeyboardInput keyboardInput = new KeyboardInput(true);
         start(keyboardInput);
+        // Quitted, close the window.
+        if (worldTiles != null) {
+            System.out.println(TETile.toString(worldTiles));
+        }
+        System.exit(0);
     }
 
     /**
@@ -85,6 +107,9 @@ public class Engine {
     }
 
     public String toString() {
+        if (worldTiles == null) {
+            return "";
+        }
         return TETile.toString(worldTiles);
     }
 }
@@ -0,0 +1,35 @@
+package Core;
+
+import TileEngine.TETile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class EngineTest {
+    private static Engine chunkedEngine(Path saveDirectory) {
+        Config config = new Config(Engine.WORLD_WIDTH, Engine.WORLD_HEIGHT, Engine.FRAME_WIDTH, Engine.FRAME_HEIGHT,
+                true, saveDirectory);
+        config.chunkedWorld = true;
+        return new Engine(config);
+    }
+
+    @Test
+    public void chunkedWorldSaveLoadTest() throws IOException {
+        Path saveDirectory = Files.createTempDirectory("engine");
+        try {
+            TETile[][] played = chunkedEngine(saveDirectory).interactWithInputString("n123sddwwaddd");
+            Assert.assertNotNull(played);
+            Assert.assertEquals(new Config(1, 1, 1, 1, true).DEFAULT_VIEW_WIDTH, played.length);
+            chunkedEngine(saveDirectory).interactWithInputString("n123sddw:q");
+            Assert.assertTrue(Files.exists(saveDirectory.resolve(".save_chunked")));
+            TETile[][] loaded = chunkedEngine(saveDirectory).interactWithInputString("lwaddd");
+            Assert.assertEquals(TETile.toString(played), TETile.toString(loaded));
+        } finally {
+            Files.deleteIfExists(saveDirectory.resolve(".save_chunked"));
+            Files.deleteIfExists(saveDirectory);
+        }
+    }
+}
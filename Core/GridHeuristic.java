@@ -0,0 +1,47 @@
+package Core;
+
+import java.io.Serializable;
+
+/**
+ * Estimation of steps from a cell to the end cell, ordering cells of GridPathFinder.
+ * The path found is the shortest only if the estimation never exceeds the real step count.
+ */
+public interface GridHeuristic extends Serializable {
+    /**
+     * Estimated steps between two cells.
+     * @param deltaX x distance between the cells, not negative.
+     * @param deltaY y distance between the cells, not negative.
+     */
+    long estimate(int deltaX, int deltaY);
+
+    /**
+     * Common heuristics of grids.
+     */
+    enum Standard implements GridHeuristic {
+        /** Exact step count on an open 4-connected grid, the tightest admissible estimation. */
+        MANHATTAN {
+            @Override
+            public long estimate(int deltaX, int deltaY) {
+                return (long) deltaX + deltaY;
+            }
+        },
+        /** Cost of moving diagonally then straight on an 8-connected grid, admissible but looser on 4-connected grids. */
+        OCTILE {
+            @Override
+            public long estimate(int deltaX, int deltaY) {
+                // Diagonal cost is sqrt(2), rounded down to stay admissible.
+                final long SQRT2_MINUS_1_Q16 = 27146;
+                long max = Math.max(deltaX, deltaY);
+                long min = Math.min(deltaX, deltaY);
+                return max + ((min * SQRT2_MINUS_1_Q16) >>> 16);
+            }
+        },
+        /** Squared euclidean distance, not admissible, searching greedily toward the end. */
+        SQUARED_EUCLIDEAN {
+            @Override
+            public long estimate(int deltaX, int deltaY) {
+                return (long) deltaX * deltaX + (long) deltaY * deltaY;
+            }
+        }
+    }
+}
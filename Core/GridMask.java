@@ -0,0 +1,140 @@
+package Core;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Bitset of cells of a width x height grid, the cell at (x, y) is kept at bit x * height + y,
+ * the same packing as TileGrid and GridPathFinder with boundary from (0, 0).
+ */
+public class GridMask implements Serializable {
+    private final int width; // Cell count in x direction.
+    private final int height; // Cell count in y direction.
+    final long[] words; // Bits of cells, read directly by GridPathFinder.
+
+    /**
+     * Create mask with no cell set.
+     */
+    public GridMask(int width, int height) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width of mask is not positive, width: " + width);
+        }
+        if (height <= 0) {
+            throw new IllegalArgumentException("Height of mask is not positive, height: " + height);
+        }
+        long cellCount = (long) width * height;
+        if (cellCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Mask is too large, width: " + width + ", height: " + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.words = new long[(int) ((cellCount + 63) >>> 6)];
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Packed index of cell at (x, y).
+     */
+    public int index(int x, int y) {
+        return x * height + y;
+    }
+
+    public boolean inBoundary(int x, int y) {
+        return 0 <= x && x < width && 0 <= y && y < height;
+    }
+
+    /**
+     * Whether cell at (x, y) is set, cells outside boundary are not set.
+     */
+    public boolean get(int x, int y) {
+        if (!inBoundary(x, y)) {
+            return false;
+        }
+        return getIndex(index(x, y));
+    }
+
+    /**
+     * Whether cell at packed index is set, the index must be inside boundary.
+     */
+    public boolean getIndex(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Set or clear cell at (x, y), cells outside boundary are ignored.
+     */
+    public void set(int x, int y, boolean value) {
+        if (!inBoundary(x, y)) {
+            return;
+        }
+        setIndex(index(x, y), value);
+    }
+
+    /**
+     * Set or clear cell at packed index, the index must be inside boundary.
+     */
+    public void setIndex(int index, boolean value) {
+        if (value) {
+            words[index >>> 6] |= 1L << index;
+        } else {
+            words[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Set or clear cells at packed index from fromIndex (inclusive) to toIndex (exclusive).
+     */
+    public void setRange(int fromIndex, int toIndex, boolean value) {
+        if (fromIndex < 0 || toIndex > width * height || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") out of mask "
+                    + width + "x" + height);
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        int fromWord = fromIndex >>> 6;
+        int toWord = (toIndex - 1) >>> 6;
+        long fromBits = -1L << fromIndex;
+        long toBits = -1L >>> -toIndex;
+        if (fromWord == toWord) {
+            setBits(fromWord, fromBits & toBits, value);
+            return;
+        }
+        setBits(fromWord, fromBits, value);
+        Arrays.fill(words, fromWord + 1, toWord, value ? -1L : 0L);
+        setBits(toWord, toBits, value);
+    }
+
+    private void setBits(int wordIdx, long bits, boolean value) {
+        if (value) {
+            words[wordIdx] |= bits;
+        } else {
+            words[wordIdx] &= ~bits;
+        }
+    }
+
+    /**
+     * Clear all cells.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Count of set cells.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word: words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,57 @@
+package Core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+
+public class GridMaskTest {
+    @Test
+    public void setTest() {
+        GridMask mask = new GridMask(7, 11);
+        Assert.assertFalse(mask.get(3, 4));
+        mask.set(3, 4, true);
+        Assert.assertTrue(mask.get(3, 4));
+        Assert.assertTrue(mask.getIndex(mask.index(3, 4)));
+        Assert.assertFalse(mask.get(4, 3));
+        // Cells outside boundary are ignored.
+        mask.set(-1, 0, true);
+        Assert.assertFalse(mask.get(-1, 0));
+        mask.set(3, 4, false);
+        Assert.assertEquals(0, mask.cardinality());
+    }
+
+    @Test
+    public void setRangeTest() {
+        final int WIDTH = 10;
+        final int HEIGHT = 30;
+        GridMask mask = new GridMask(WIDTH, HEIGHT);
+        int[][] ranges = {{0, 0}, {3, 9}, {60, 64}, {63, 130}, {128, 192}, {250, 300}};
+        for (int[] range: ranges) {
+            mask.clear();
+            mask.setRange(range[0], range[1], true);
+            for (int index = 0; index < WIDTH * HEIGHT; index++) {
+                Assert.assertEquals(range[0] <= index && index < range[1], mask.getIndex(index));
+            }
+            mask.setRange(0, WIDTH * HEIGHT, true);
+            mask.setRange(range[0], range[1], false);
+            Assert.assertEquals(WIDTH * HEIGHT - (range[1] - range[0]), mask.cardinality());
+        }
+    }
+
+    @Test
+    public void pathFinderBlocksTest() {
+        GridMask mask = new GridMask(10, 10);
+        // Wall at x = 5 with gap at the top.
+        for (int y = 0; y < 9; y++) {
+            mask.set(5, y, true);
+        }
+        GridPathFinder pathFinder = new GridPathFinder(0, 0, 9, 9);
+        pathFinder.setBlocks(mask);
+        Assert.assertTrue(pathFinder.isBlocked(5, 0));
+        Assert.assertNotNull(pathFinder.trace(new Point(0, 0), new Point(9, 0)));
+        mask.set(5, 9, true);
+        pathFinder.setBlocks(mask);
+        Assert.assertNull(pathFinder.trace(new Point(0, 0), new Point(9, 0)));
+    }
+}
@@ -0,0 +1,545 @@
+package Core;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A* path finder on a 4-connected grid which works on primitive arrays only.
+ * Every cell inside boundary is packed as int index (x - minX) * height + (y - minY), the g-scores,
+ * parents and closed cells of a search are kept in reusable arrays, so searching does not allocate
+ * once the finder is created. A finder is not thread safe, use one finder per thread.
+ * Cells are ordered by g-score plus heuristic, ties are broken toward the cell with smaller heuristic,
+ * so that searching with the admissible Manhattan heuristic follows one shortest path instead of
+ * expanding every cell of equal score. Expanded cells are kept in a closed set and never expanded again.
+ * In JUMP_POINT mode, straight runs without decisions are skipped by jumping, only jump points enter the open heap,
+ * and the path between consecutive jump points is filled back cell by cell.
+ */
+public class GridPathFinder {
+    private static final int NO_PARENT = -1;
+    private static final int NO_JUMP_POINT = -1;
+    private static final long MAX_PRIORITY = (1L << 32) - 1; // Largest priority packed in open heap.
+    private static final long INDEX_MASK = (1L << 31) - 1; // Bits of cell index packed in open heap.
+    private final int minX; // Left x of boundary.
+    private final int minY; // Bottom y of boundary.
+    private final int width; // Cell count in x direction.
+    private final int height; // Cell count in y direction.
+    private final long[] blocked; // Bitset of blocked cells.
+    private final long[] closed; // Bitset of expanded cells of current search.
+    private final int[] gScore; // Steps from start, valid only if visitStamp equals to current stamp.
+    private final int[] parent; // Previous cell index on the path.
+    private final int[] visitStamp; // Search stamp when cell is firstly reached, avoid clearing arrays per search.
+    private int stamp; // Stamp of current search.
+    private long[] openHeap; // Binary min heap of packed (priority << 31 | index), stale entries are skipped.
+    private int openSize;
+    private int[] path; // Cell indices of the last found path, from start to end.
+    private int pathLength;
+    private SearchMode searchMode; // Algorithm of search.
+    private GridHeuristic heuristic; // Estimation of steps to end.
+    private final long tieScale; // Multiplier of f-score in priority, larger than any admissible heuristic.
+    private int expandedCount; // Cells expanded by the last search.
+
+    /**
+     * Algorithms of searching the shortest 4-connected path.
+     */
+    public enum SearchMode {
+        /** A* expanding every reached cell. */
+        A_STAR,
+        /**
+         * Jump point search for 4-connected grids, canonical paths move vertically before horizontally,
+         * so horizontal runs only turn at forced neighbors, and vertical runs stop where a horizontal run turns.
+         */
+        JUMP_POINT
+    }
+
+    /**
+     * Create path finder covering cells from (minX, minY) to (maxX, maxY) inclusively.
+     */
+    public GridPathFinder(int minX, int minY, int maxX, int maxY) {
+        if (maxX < minX) {
+            throw new IllegalArgumentException("Invalid boundary, minX = " + minX + ", maxX = " + maxX);
+        }
+        if (maxY < minY) {
+            throw new IllegalArgumentException("Invalid boundary, minY = " + minY + ", maxY = " + maxY);
+        }
+        long cellCount = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (cellCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Boundary is too large, cell count = " + cellCount);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.width = maxX - minX + 1;
+        this.height = maxY - minY + 1;
+        int size = (int) cellCount;
+        this.blocked = new long[(size + 63) >>> 6];
+        this.closed = new long[(size + 63) >>> 6];
+        this.gScore = new int[size];
+        this.parent = new int[size];
+        this.visitStamp = new int[size];
+        this.stamp = 0;
+        this.openHeap = new long[64];
+        this.openSize = 0;
+        this.path = new int[64];
+        this.pathLength = 0;
+        this.searchMode = SearchMode.A_STAR;
+        this.heuristic = GridHeuristic.Standard.MANHATTAN;
+        this.tieScale = (long) width + height;
+        this.expandedCount = 0;
+    }
+
+    public SearchMode searchMode() {
+        return searchMode;
+    }
+
+    public void setSearchMode(SearchMode searchMode) {
+        if (searchMode == null) {
+            throw new IllegalArgumentException("Cannot search with null search mode.");
+        }
+        this.searchMode = searchMode;
+    }
+
+    public GridHeuristic heuristic() {
+        return heuristic;
+    }
+
+    public void setHeuristic(GridHeuristic heuristic) {
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Cannot search with null heuristic.");
+        }
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Count of cells expanded by the last search, jump points only in JUMP_POINT mode.
+     */
+    public int expandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Whether this finder covers exactly the given boundary.
+     */
+    public boolean hasBoundary(int minX, int minY, int maxX, int maxY) {
+        return this.minX == minX && this.minY == minY
+                && this.width == maxX - minX + 1 && this.height == maxY - minY + 1;
+    }
+
+    public int minX() {
+        return minX;
+    }
+
+    public int minY() {
+        return minY;
+    }
+
+    public int maxX() {
+        return minX + width - 1;
+    }
+
+    public int maxY() {
+        return minY + height - 1;
+    }
+
+    /**
+     * Packed index of cell at (x, y), the cell must be inside boundary.
+     */
+    public int index(int x, int y) {
+        return (x - minX) * height + (y - minY);
+    }
+
+    /**
+     * X coordinate of packed cell index.
+     */
+    public int xOf(int index) {
+        return index / height + minX;
+    }
+
+    /**
+     * Y coordinate of packed cell index.
+     */
+    public int yOf(int index) {
+        return index % height + minY;
+    }
+
+    public boolean inBoundary(int x, int y) {
+        return PointUtils.inBoundary(x, y, minX, minY, maxX(), maxY());
+    }
+
+    /**
+     * Mark cell at (x, y) as blocked, cells outside boundary are ignored.
+     */
+    public void block(int x, int y) {
+        if (!inBoundary(x, y)) {
+            return;
+        }
+        int index = index(x, y);
+        blocked[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Mark cell at (x, y) as passable, cells outside boundary are ignored.
+     */
+    public void unblock(int x, int y) {
+        if (!inBoundary(x, y)) {
+            return;
+        }
+        int index = index(x, y);
+        blocked[index >>> 6] &= ~(1L << index);
+    }
+
+    public boolean isBlocked(int x, int y) {
+        if (!inBoundary(x, y)) {
+            return true;
+        }
+        int index = index(x, y);
+        return (blocked[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Let all cells passable.
+     */
+    public void clearBlocks() {
+        Arrays.fill(blocked, 0L);
+    }
+
+    /**
+     * Replace blocked cells by cells set in mask, the mask must cover the boundary from (0, 0) exactly.
+     */
+    public void setBlocks(GridMask mask) {
+        if (mask == null) {
+            throw new IllegalArgumentException("Cannot set blocked cells from null mask.");
+        }
+        if (!hasBoundary(0, 0, mask.width() - 1, mask.height() - 1)) {
+            throw new IllegalArgumentException("Mask " + mask.width() + "x" + mask.height()
+                    + " does not cover boundary of path finder.");
+        }
+        System.arraycopy(mask.words, 0, blocked, 0, blocked.length);
+    }
+
+    /**
+     * Search the shortest 4-connected path from (startX, startY) to (endX, endY) avoiding blocked cells.
+     * The start cell is never treated as blocked.
+     * @return True, if the path is found, the path is available by pathLength and pathIndex afterward.
+     */
+    public boolean search(int startX, int startY, int endX, int endY) {
+        pathLength = 0;
+        expandedCount = 0;
+        if (!inBoundary(startX, startY) || !inBoundary(endX, endY)) {
+            return false;
+        }
+        nextStamp();
+        Arrays.fill(closed, 0L);
+        openSize = 0;
+        int startIdx = index(startX, startY);
+        int endIdx = index(endX, endY);
+        visitStamp[startIdx] = stamp;
+        gScore[startIdx] = 0;
+        parent[startIdx] = NO_PARENT;
+        pushOpen(0, estimate(startX, startY, endX, endY), startIdx);
+        if (searchMode == SearchMode.JUMP_POINT) {
+            return searchJumpPoints(endIdx, endX, endY);
+        }
+        while (openSize > 0) {
+            int idx = (int) popOpen();
+            if ((closed[idx >>> 6] & (1L << idx)) != 0) {
+                continue; // Stale entry, cell is expanded with lower priority before.
+            }
+            closed[idx >>> 6] |= 1L << idx;
+            expandedCount++;
+            if (idx == endIdx) {
+                buildPath(endIdx);
+                return true;
+            }
+            int x = idx / height;
+            int y = idx - x * height;
+            int nextG = gScore[idx] + 1;
+            // Top, right, bottom, left.
+            if (y + 1 < height) {
+                relax(idx, idx + 1, nextG, x, y + 1, endX, endY);
+            }
+            if (x + 1 < width) {
+                relax(idx, idx + height, nextG, x + 1, y, endX, endY);
+            }
+            if (y > 0) {
+                relax(idx, idx - 1, nextG, x, y - 1, endX, endY);
+            }
+            if (x > 0) {
+                relax(idx, idx - height, nextG, x - 1, y, endX, endY);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expand jump points from the open heap until end is reached.
+     */
+    private boolean searchJumpPoints(int endIdx, int endX, int endY) {
+        int endCellX = endX - minX;
+        int endCellY = endY - minY;
+        while (openSize > 0) {
+            int idx = (int) popOpen();
+            if ((closed[idx >>> 6] & (1L << idx)) != 0) {
+                continue; // Stale entry, cell is expanded with lower priority before.
+            }
+            closed[idx >>> 6] |= 1L << idx;
+            expandedCount++;
+            if (idx == endIdx) {
+                buildPath(endIdx);
+                return true;
+            }
+            int x = idx / height;
+            int y = idx - x * height;
+            int parentIdx = parent[idx];
+            if (parentIdx == NO_PARENT) {
+                jumpFrom(idx, x, y, 1, 0, endCellX, endCellY);
+                jumpFrom(idx, x, y, -1, 0, endCellX, endCellY);
+                jumpFrom(idx, x, y, 0, 1, endCellX, endCellY);
+                jumpFrom(idx, x, y, 0, -1, endCellX, endCellY);
+                continue;
+            }
+            int parentX = parentIdx / height;
+            int parentY = parentIdx - parentX * height;
+            int deltaX = Integer.signum(x - parentX);
+            int deltaY = Integer.signum(y - parentY);
+            if (deltaX != 0) {
+                // Horizontal runs continue, and turn only to forced neighbors.
+                jumpFrom(idx, x, y, deltaX, 0, endCellX, endCellY);
+                if (isPassable(x, y + 1) && !isPassable(x - deltaX, y + 1)) {
+                    jumpFrom(idx, x, y, 0, 1, endCellX, endCellY);
+                }
+                if (isPassable(x, y - 1) && !isPassable(x - deltaX, y - 1)) {
+                    jumpFrom(idx, x, y, 0, -1, endCellX, endCellY);
+                }
+            } else {
+                // Vertical runs continue or turn to both sides.
+                jumpFrom(idx, x, y, 0, deltaY, endCellX, endCellY);
+                jumpFrom(idx, x, y, 1, 0, endCellX, endCellY);
+                jumpFrom(idx, x, y, -1, 0, endCellX, endCellY);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Jump from cell idx at cell coordinate (x, y) toward (deltaX, deltaY), relaxing the found jump point.
+     */
+    private void jumpFrom(int idx, int x, int y, int deltaX, int deltaY, int endCellX, int endCellY) {
+        int jumpIdx = deltaX != 0
+                ? jumpHorizontally(x, y, deltaX, endCellX, endCellY)
+                : jumpVertically(x, y, deltaY, endCellX, endCellY);
+        if (jumpIdx == NO_JUMP_POINT) {
+            return;
+        }
+        int jumpX = jumpIdx / height;
+        int jumpY = jumpIdx - jumpX * height;
+        int nextG = gScore[idx] + Math.abs(jumpX - x) + Math.abs(jumpY - y);
+        relax(idx, jumpIdx, nextG, jumpX, jumpY, endCellX + minX, endCellY + minY);
+    }
+
+    /**
+     * Whether cell at cell coordinate (x, y) is inside boundary and not blocked.
+     */
+    private boolean isPassable(int x, int y) {
+        if (x < 0 || width <= x || y < 0 || height <= y) {
+            return false;
+        }
+        int idx = x * height + y;
+        return (blocked[idx >>> 6] & (1L << idx)) == 0;
+    }
+
+    /**
+     * Run horizontally from cell coordinate (x, y) until end or a cell with forced neighbor.
+     * @return index of the jump point, NO_JUMP_POINT if the run hits blocked cell or boundary.
+     */
+    private int jumpHorizontally(int x, int y, int deltaX, int endCellX, int endCellY) {
+        while (true) {
+            x += deltaX;
+            if (!isPassable(x, y)) {
+                return NO_JUMP_POINT;
+            }
+            if (x == endCellX && y == endCellY) {
+                return x * height + y;
+            }
+            if ((isPassable(x, y + 1) && !isPassable(x - deltaX, y + 1))
+                    || (isPassable(x, y - 1) && !isPassable(x - deltaX, y - 1))) {
+                return x * height + y;
+            }
+        }
+    }
+
+    /**
+     * Run vertically from cell coordinate (x, y) until end or a cell whose horizontal runs find a jump point.
+     * @return index of the jump point, NO_JUMP_POINT if the run hits blocked cell or boundary.
+     */
+    private int jumpVertically(int x, int y, int deltaY, int endCellX, int endCellY) {
+        while (true) {
+            y += deltaY;
+            if (!isPassable(x, y)) {
+                return NO_JUMP_POINT;
+            }
+            if (x == endCellX && y == endCellY) {
+                return x * height + y;
+            }
+            if (jumpHorizontally(x, y, 1, endCellX, endCellY) != NO_JUMP_POINT
+                    || jumpHorizontally(x, y, -1, endCellX, endCellY) != NO_JUMP_POINT) {
+                return x * height + y;
+            }
+        }
+    }
+
+    /**
+     * Cell count of the last found path, 0 if there is no path.
+     */
+    public int pathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Packed cell index at i-th step of the last found path.
+     */
+    public int pathIndex(int i) {
+        if (i < 0 || pathLength <= i) {
+            throw new IndexOutOfBoundsException("Path index " + i + " out of path length " + pathLength);
+        }
+        return path[i];
+    }
+
+    /**
+     * Get the shortest trace which connect start and end points.
+     * @return list of traced points, null if theres is no trace between start and end points.
+     */
+    public List<Point> trace(Point start, Point end) {
+        if (start == null) {
+            throw new IllegalArgumentException("Cannot get the shortest trace from null start point.");
+        }
+        if (end == null) {
+            throw new IllegalArgumentException("Cannot get the shortest trace to null end point.");
+        }
+        if (!search(start.x, start.y, end.x, end.y)) {
+            return null;
+        }
+        LinkedList<Point> trace = new LinkedList<>();
+        for (int i = 0; i < pathLength; i++) {
+            trace.addLast(new Point(xOf(path[i]), yOf(path[i])));
+        }
+        return trace;
+    }
+
+    private void relax(int fromIdx, int toIdx, int nextG, int toCellX, int toCellY, int endX, int endY) {
+        long bit = 1L << toIdx;
+        if ((closed[toIdx >>> 6] & bit) != 0 || (blocked[toIdx >>> 6] & bit) != 0) {
+            return;
+        }
+        if (visitStamp[toIdx] == stamp && gScore[toIdx] <= nextG) {
+            return;
+        }
+        visitStamp[toIdx] = stamp;
+        gScore[toIdx] = nextG;
+        parent[toIdx] = fromIdx;
+        pushOpen(nextG, estimate(toCellX + minX, toCellY + minY, endX, endY), toIdx);
+    }
+
+    /**
+     * Estimated steps from (x, y) to (endX, endY) by heuristic.
+     */
+    private long estimate(int x, int y, int endX, int endY) {
+        return heuristic.estimate(Math.abs(x - endX), Math.abs(y - endY));
+    }
+
+    private void nextStamp() {
+        stamp++;
+        if (stamp == 0) {
+            // Stamp overflowed, previous stamps may collide with new ones.
+            Arrays.fill(visitStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Build path from parents of end, cells between a cell and its parent are on a straight line,
+     * adjacent for A* and a run of cells for jump points.
+     */
+    private void buildPath(int endIdx) {
+        int length = 1;
+        for (int idx = endIdx; parent[idx] != NO_PARENT; idx = parent[idx]) {
+            length += Math.abs(idx / height - parent[idx] / height) + Math.abs(idx % height - parent[idx] % height);
+        }
+        if (path.length < length) {
+            path = new int[Math.max(length, path.length * 2)];
+        }
+        int i = length - 1;
+        path[i] = endIdx;
+        for (int idx = endIdx; parent[idx] != NO_PARENT; idx = parent[idx]) {
+            int parentIdx = parent[idx];
+            // Index step toward parent, height for a step in x, 1 for a step in y.
+            int step = idx / height != parentIdx / height ? height : 1;
+            if (parentIdx > idx) {
+                for (int cellIdx = idx + step; cellIdx <= parentIdx; cellIdx += step) {
+                    i--;
+                    path[i] = cellIdx;
+                }
+            } else {
+                for (int cellIdx = idx - step; cellIdx >= parentIdx; cellIdx -= step) {
+                    i--;
+                    path[i] = cellIdx;
+                }
+            }
+        }
+        pathLength = length;
+    }
+
+    /**
+     * Push cell with g-score g and heuristic h, ordered by g + h then by h.
+     */
+    private void pushOpen(long g, long h, int idx) {
+        if (openSize == openHeap.length) {
+            openHeap = Arrays.copyOf(openHeap, openSize * 2);
+        }
+        long priority = (g + h) * tieScale + Math.min(h, tieScale - 1);
+        if (priority < 0 || priority > MAX_PRIORITY) {
+            priority = MAX_PRIORITY;
+        }
+        long entry = (priority << 31) | idx;
+        int i = openSize;
+        openSize++;
+        while (i > 0) {
+            int parentIdx = (i - 1) >>> 1;
+            if (openHeap[parentIdx] <= entry) {
+                break;
+            }
+            openHeap[i] = openHeap[parentIdx];
+            i = parentIdx;
+        }
+        openHeap[i] = entry;
+    }
+
+    /**
+     * Remove the smallest entry of open heap.
+     * @return cell index of the smallest entry.
+     */
+    private long popOpen() {
+        long smallest = openHeap[0];
+        openSize--;
+        long last = openHeap[openSize];
+        int i = 0;
+        while (true) {
+            int child = i * 2 + 1;
+            if (child >= openSize) {
+                break;
+            }
+            if (child + 1 < openSize && openHeap[child + 1] < openHeap[child]) {
+                child++;
+            }
+            if (last <= openHeap[child]) {
+                break;
+            }
+            openHeap[i] = openHeap[child];
+            i = child;
+        }
+        if (openSize > 0) {
+            openHeap[i] = last;
+        }
+        return smallest & INDEX_MASK;
+    }
+}
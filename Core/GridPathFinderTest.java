@@ -0,0 +1,204 @@
+package Core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+public class GridPathFinderTest {
+    private static void assertContinuous(List<Point> trace) {
+        Point prevPos = null;
+        for (Point curPos: trace) {
+            if (prevPos != null) {
+                Assert.assertEquals(1, PointUtils.distanceSqrBetween(prevPos, curPos));
+            }
+            prevPos = curPos;
+        }
+    }
+
+    @Test
+    public void indexTest() {
+        GridPathFinder pathFinder = new GridPathFinder(-2, 3, 5, 9);
+        int index = pathFinder.index(4, 7);
+        Assert.assertEquals(4, pathFinder.xOf(index));
+        Assert.assertEquals(7, pathFinder.yOf(index));
+        Assert.assertEquals(0, pathFinder.index(-2, 3));
+    }
+
+    @Test
+    public void openGridTest() {
+        GridPathFinder pathFinder = new GridPathFinder(0, 0, 9, 9);
+        List<Point> trace = pathFinder.trace(new Point(0, 0), new Point(9, 9));
+        Assert.assertNotNull(trace);
+        Assert.assertEquals(19, trace.size());
+        Assert.assertEquals(new Point(0, 0), trace.get(0));
+        Assert.assertEquals(new Point(9, 9), trace.get(trace.size() - 1));
+        assertContinuous(trace);
+    }
+
+    @Test
+    public void blockedGridTest() {
+        GridPathFinder pathFinder = new GridPathFinder(0, 0, 9, 9);
+        // Wall at x = 5 with gap at the top.
+        for (int y = 0; y < 9; y++) {
+            pathFinder.block(5, y);
+        }
+        List<Point> trace = pathFinder.trace(new Point(0, 0), new Point(9, 0));
+        Assert.assertNotNull(trace);
+        assertContinuous(trace);
+        for (Point tracePos: trace) {
+            Assert.assertFalse(pathFinder.isBlocked(tracePos.x, tracePos.y));
+        }
+        // Close the gap.
+        pathFinder.block(5, 9);
+        Assert.assertNull(pathFinder.trace(new Point(0, 0), new Point(9, 0)));
+        Assert.assertEquals(0, pathFinder.pathLength());
+        // Reopen and search again with the same buffers.
+        pathFinder.unblock(5, 9);
+        Assert.assertNotNull(pathFinder.trace(new Point(0, 0), new Point(9, 0)));
+    }
+
+    @Test
+    public void shortestTraceTest() {
+        HashSet<Point> blocks = new HashSet<>();
+        blocks.add(new Point(1, 0));
+        blocks.add(new Point(1, 1));
+        List<Point> trace = PointUtils.shortestTrace(new Point(0, 0), new Point(2, 0), blocks, 0, 0, 2, 2);
+        Assert.assertNotNull(trace);
+        Assert.assertEquals(7, trace.size());
+        assertContinuous(trace);
+        List<Point> sameTrace = PointUtils.shortestTrace(new Point(0, 0), new Point(0, 0), blocks, 0, 0, 2, 2);
+        Assert.assertEquals(1, sameTrace.size());
+    }
+
+    @Test
+    public void jumpPointOpenGridTest() {
+        GridPathFinder pathFinder = new GridPathFinder(-3, 2, 96, 81);
+        pathFinder.setSearchMode(GridPathFinder.SearchMode.JUMP_POINT);
+        Point start = new Point(-3, 2);
+        Point end = new Point(90, 75);
+        List<Point> trace = pathFinder.trace(start, end);
+        Assert.assertNotNull(trace);
+        Assert.assertEquals(93 + 73 + 1, trace.size());
+        Assert.assertEquals(start, trace.get(0));
+        Assert.assertEquals(end, trace.get(trace.size() - 1));
+        assertContinuous(trace);
+    }
+
+    @Test
+    public void jumpPointBlockedGridTest() {
+        final int SIZE = 40;
+        GridPathFinder aStarFinder = new GridPathFinder(0, 0, SIZE - 1, SIZE - 1);
+        GridPathFinder jumpPointFinder = new GridPathFinder(0, 0, SIZE - 1, SIZE - 1);
+        jumpPointFinder.setSearchMode(GridPathFinder.SearchMode.JUMP_POINT);
+        // Walls with gaps at alternating ends, forcing a zigzag trace.
+        for (int x = 4; x < SIZE; x += 4) {
+            int gapY = (x / 4) % 2 == 0 ? 0 : SIZE - 1;
+            for (int y = 0; y < SIZE; y++) {
+                if (y != gapY) {
+                    aStarFinder.block(x, y);
+                    jumpPointFinder.block(x, y);
+                }
+            }
+        }
+        Point start = new Point(0, 20);
+        Point end = new Point(SIZE - 1, 5);
+        List<Point> trace = jumpPointFinder.trace(start, end);
+        Assert.assertNotNull(trace);
+        assertContinuous(trace);
+        for (Point tracePos: trace) {
+            Assert.assertFalse(jumpPointFinder.isBlocked(tracePos.x, tracePos.y));
+        }
+        Assert.assertEquals(start, trace.get(0));
+        Assert.assertEquals(end, trace.get(trace.size() - 1));
+        Assert.assertNotNull(aStarFinder.trace(start, end));
+        // Close the last gap.
+        aStarFinder.block(SIZE - 4, SIZE - 1);
+        jumpPointFinder.block(SIZE - 4, SIZE - 1);
+        jumpPointFinder.block(SIZE - 4, 0);
+        aStarFinder.block(SIZE - 4, 0);
+        Assert.assertNull(aStarFinder.trace(start, end));
+        Assert.assertNull(jumpPointFinder.trace(start, end));
+    }
+
+    /**
+     * Step count of the shortest path by breadth first search, -1 if there is no path.
+     */
+    private static int shortestSteps(GridPathFinder pathFinder, Point start, Point end) {
+        int width = pathFinder.maxX() - pathFinder.minX() + 1;
+        int height = pathFinder.maxY() - pathFinder.minY() + 1;
+        int[][] steps = new int[width][height];
+        for (int[] column: steps) {
+            Arrays.fill(column, -1);
+        }
+        ArrayDeque<Point> queue = new ArrayDeque<>();
+        steps[start.x][start.y] = 0;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Point pos = queue.poll();
+            for (Point neighbor: PointUtils.verticalNeighbors(pos)) {
+                if (!pathFinder.inBoundary(neighbor.x, neighbor.y) || pathFinder.isBlocked(neighbor.x, neighbor.y)) {
+                    continue;
+                }
+                if (steps[neighbor.x][neighbor.y] >= 0) {
+                    continue;
+                }
+                steps[neighbor.x][neighbor.y] = steps[pos.x][pos.y] + 1;
+                queue.add(neighbor);
+            }
+        }
+        return steps[end.x][end.y];
+    }
+
+    @Test
+    public void shortestPathTest() {
+        final int SIZE = 30;
+        Random random = new Random(7);
+        GridPathFinder pathFinder = new GridPathFinder(0, 0, SIZE - 1, SIZE - 1);
+        for (int round = 0; round < 20; round++) {
+            pathFinder.clearBlocks();
+            for (int i = 0; i < SIZE * SIZE / 4; i++) {
+                pathFinder.block(random.nextInt(SIZE), random.nextInt(SIZE));
+            }
+            Point start = new Point(random.nextInt(SIZE), random.nextInt(SIZE));
+            Point end = new Point(random.nextInt(SIZE), random.nextInt(SIZE));
+            pathFinder.unblock(start.x, start.y);
+            pathFinder.unblock(end.x, end.y);
+            int steps = shortestSteps(pathFinder, start, end);
+            for (GridPathFinder.SearchMode searchMode: GridPathFinder.SearchMode.values()) {
+                for (GridHeuristic heuristic: new GridHeuristic[]{GridHeuristic.Standard.MANHATTAN,
+                        GridHeuristic.Standard.OCTILE}) {
+                    pathFinder.setSearchMode(searchMode);
+                    pathFinder.setHeuristic(heuristic);
+                    List<Point> trace = pathFinder.trace(start, end);
+                    if (steps < 0) {
+                        Assert.assertNull(trace);
+                        continue;
+                    }
+                    Assert.assertNotNull(trace);
+                    Assert.assertEquals(steps + 1, trace.size());
+                    assertContinuous(trace);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void expandedCountTest() {
+        GridPathFinder pathFinder = new GridPathFinder(0, 0, 49, 49);
+        Point start = new Point(0, 0);
+        Point end = new Point(49, 49);
+        Assert.assertNotNull(pathFinder.trace(start, end));
+        // Ties are broken toward the end, only cells of the path are expanded on open grid.
+        Assert.assertEquals(pathFinder.pathLength(), pathFinder.expandedCount());
+        pathFinder.setHeuristic((deltaX, deltaY) -> 0);
+        Assert.assertNotNull(pathFinder.trace(start, end));
+        Assert.assertEquals(99, pathFinder.pathLength());
+        Assert.assertEquals(50 * 50, pathFinder.expandedCount());
+    }
+}
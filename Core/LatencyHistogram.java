@@ -0,0 +1,132 @@
+package Core;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets, like HdrHistogram.
+ * Each power of two range is split into SUB_BUCKET_COUNT buckets, so recorded values are kept
+ * within 1 / SUB_BUCKET_COUNT of relative error, from nanoseconds up to Long.MAX_VALUE, in fixed memory.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // Buckets per power of two, 3% error.
+    /**
+     * Bucket count covering every non negative long, the last bucket holds Long.MAX_VALUE.
+     */
+    private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+    private final String name;
+    private final long[] counts; // Count of values recorded in each bucket.
+    private long count; // Count of all recorded values.
+    private long sum; // Sum of all recorded values, saturated at Long.MAX_VALUE.
+    private long min;
+    private long max;
+
+    public LatencyHistogram(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Cannot name histogram with null name.");
+        }
+        this.name = name;
+        this.counts = new long[BUCKET_COUNT];
+        reset();
+    }
+
+    /**
+     * Values below 2 * SUB_BUCKET_COUNT have a bucket of their own, each larger power of two
+     * is split into SUB_BUCKET_COUNT buckets by its highest SUB_BUCKET_BITS + 1 bits.
+     */
+    private static int bucketIndex(long value) {
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = Math.max(0, highestBit - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * Largest value of bucket at index.
+     */
+    private static long bucketHighestValue(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long top = index - (long) shift * SUB_BUCKET_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Record one latency, negative latencies are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketIndex(value)] += 1;
+        count += 1;
+        sum = sum > Long.MAX_VALUE - value ? Long.MAX_VALUE : sum + value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Smallest recorded value, 0 if nothing is recorded.
+     */
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Value which percentile of recorded values are less than or equal to, within the error of buckets.
+     * @param percentile from 0 to 100.
+     * @return the value, 0 if nothing is recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile is not between 0 and 100, percentile: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, bucketHighestValue(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Summary of percentiles in microseconds.
+     */
+    @Override
+    public String toString() {
+        final double NANOS_PER_MICRO = 1000.0;
+        return String.format("%s: count=%d, mean=%.1fus, p50=%.1fus, p90=%.1fus, p99=%.1fus, p99.9=%.1fus, "
+                        + "max=%.1fus", name, count, mean() / NANOS_PER_MICRO, valueAtPercentile(50) / NANOS_PER_MICRO,
+                valueAtPercentile(90) / NANOS_PER_MICRO, valueAtPercentile(99) / NANOS_PER_MICRO,
+                valueAtPercentile(99.9) / NANOS_PER_MICRO, max / NANOS_PER_MICRO);
+    }
+}
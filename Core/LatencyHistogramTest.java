@@ -0,0 +1,52 @@
+package Core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void percentileTest() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value * 1000);
+        }
+        Assert.assertEquals(100000, histogram.count());
+        Assert.assertEquals(1000, histogram.min());
+        Assert.assertEquals(100000000, histogram.max());
+        Assert.assertEquals(50000500.0, histogram.mean(), 1e-6);
+        final double[] PERCENTILES = {0, 10, 50, 90, 99, 99.9, 100};
+        for (double percentile: PERCENTILES) {
+            long expected = Math.max(1, (long) Math.ceil(percentile * 1000)) * 1000;
+            long actual = histogram.valueAtPercentile(percentile);
+            Assert.assertTrue(actual >= expected);
+            Assert.assertTrue("p" + percentile + ": " + actual, actual <= expected * 1.04);
+        }
+    }
+
+    @Test
+    public void smallValueTest() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        Assert.assertEquals(0, histogram.valueAtPercentile(50));
+        Assert.assertEquals(0, histogram.min());
+        for (long value = 0; value < 64; value++) {
+            histogram.record(value);
+        }
+        // Small values are recorded exactly.
+        Assert.assertEquals(31, histogram.valueAtPercentile(50));
+        Assert.assertEquals(63, histogram.valueAtPercentile(100));
+        histogram.record(-5);
+        Assert.assertEquals(0, histogram.min());
+    }
+
+    @Test
+    public void extremeValueTest() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(Long.MAX_VALUE, histogram.valueAtPercentile(100));
+        Assert.assertEquals(Long.MAX_VALUE, histogram.min());
+        histogram.reset();
+        Assert.assertEquals(0, histogram.count());
+        Assert.assertEquals(0, histogram.max());
+    }
+}
@@ -1,10 +1,8 @@
 package Core;
 
-import PriorityQueue.ArrayHeapMinPQ;
-
 import java.awt.*;
-import java.util.*;
 import java.util.List;
+import java.util.Set;
 
 public class PointUtils {
     public static boolean inBoundary(Point point, int boundMinX, int boundMinY, int boundMaxX, int boundMaxY) {
@@ -54,6 +52,11 @@ public class PointUtils {
         return result;
     }
 
+    /**
+     * Path finders reused by shortestTrace of each thread, avoiding allocating search buffers per trace.
+     */
+    private static final ThreadLocal<GridPathFinder> PATH_FINDERS = new ThreadLocal<>();
+
     /**
      * Get the shortest trace which connect start and end points.
      * @param start start point of trace.
@@ -78,68 +81,29 @@ public class PointUtils {
         if (maxY < minY) {
             throw new IllegalArgumentException("Invalid boundary, minY = "+minY+", maxY = "+maxY);
         }
-        // A* to find the shortest path between two points.
-        ArrayHeapMinPQ<Point> distanceMinPQ = new ArrayHeapMinPQ<Point>();
-        HashMap<Point, Integer> distTo = new HashMap<>();
-        distTo.put(start, 0);
-        HashMap<Point, Point> edgeTo = new HashMap<>();
-        HashSet<Point> visited = new HashSet<>();
-        distanceMinPQ.add(start, distanceSqrBetween(start, start) + distanceSqrBetween(start, end));
-        while (distanceMinPQ.size() > 0) {
-            Point pos = distanceMinPQ.removeSmallest();
-            visited.add(pos);
-            if (pos.equals(end)) {
-                break;
-            }
-            Point[] vertPosList = verticalNeighbors(pos);
-            for (Point vertPos: vertPosList) {
-                if (visited.contains(vertPos)) {
-                    continue;
-                }
-                if (blocks != null && blocks.contains(vertPos)) {
-                    continue;
-                }
-                int startToVertPos = distTo.get(pos) + distanceSqrBetween(pos, vertPos);
-                if (!distTo.containsKey(vertPos) || distTo.get(vertPos) > startToVertPos) {
-                    distTo.put(vertPos, startToVertPos);
-                    edgeTo.put(vertPos, pos);
-                }
-                int vertPosToEnd = distanceSqrBetween(vertPos, end);
-                int distanceSqr = startToVertPos + vertPosToEnd;
-                if (!distanceMinPQ.contains(vertPos)) {
-                    distanceMinPQ.add(vertPos, distanceSqr);
-                }
-                if (distanceMinPQ.peekPriority(vertPos) > distanceSqr) {
-                    distanceMinPQ.changePriority(vertPos, distanceSqr);
-                }
+        GridPathFinder pathFinder = pathFinder(minX, minY, maxX, maxY);
+        pathFinder.clearBlocks();
+        if (blocks != null) {
+            for (Point block: blocks) {
+                pathFinder.block(block.x, block.y);
             }
         }
-        // Fill the trace list with shortest path positions.
-        LinkedList<Point> trace = new LinkedList<>();
-        Point tracePos = end;
-        while (tracePos != start && tracePos != null) {
-            trace.addFirst(tracePos);
-            tracePos = edgeTo.get(tracePos);
-        }
-        trace.addFirst(tracePos);
-        // Check whether the trace connects start and end points.
-        if (!trace.getFirst().equals(start) || !trace.getLast().equals(end)) {
-            // Cannot get the trace which connects start and end points.
-            return null;
-        }
-        // Validate trace, if the trace is continuous,
-        // the distance of trace points next to each other is equal 1.
-        Point prevPos = null;
-        for (Point curPos: trace) {
-            if (prevPos != null) {
-                int distanceSqr = PointUtils.distanceSqrBetween(prevPos, curPos);
-                if (distanceSqr != 1) {
-                    return null;
-                }
-            }
-            prevPos = curPos;
+        return pathFinder.trace(start, end);
+    }
+
+    /**
+     * Path finder of current thread covering the given boundary,
+     * searching by A* with Manhattan heuristic until other mode or heuristic is set.
+     */
+    public static GridPathFinder pathFinder(int minX, int minY, int maxX, int maxY) {
+        GridPathFinder pathFinder = PATH_FINDERS.get();
+        if (pathFinder == null || !pathFinder.hasBoundary(minX, minY, maxX, maxY)) {
+            pathFinder = new GridPathFinder(minX, minY, maxX, maxY);
+            PATH_FINDERS.set(pathFinder);
         }
-        return trace;
+        pathFinder.setSearchMode(GridPathFinder.SearchMode.A_STAR);
+        pathFinder.setHeuristic(GridHeuristic.Standard.MANHATTAN);
+        return pathFinder;
     }
 
     public static int distanceSqrBetween(Point point1, Point point2) {
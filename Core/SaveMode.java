@@ -0,0 +1,11 @@
+package Core;
+
+/**
+ * How a world is saved when quitting the game.
+ */
+public enum SaveMode {
+    /** The whole world is written on quitting. */
+    SNAPSHOT,
+    /** The seed and typed keys are appended while playing, with a periodic snapshot of the world. */
+    JOURNAL
+}
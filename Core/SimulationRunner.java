@@ -0,0 +1,158 @@
+package Core;
+
+import TileEngine.TETile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs many input strings headlessly in parallel, each in its own engine whose saved files are kept in
+ * its own temporary directory, so that sessions do not share state. Nothing is drawn and the JVM is never exited.
+ * Results are returned in the order of inputs.
+ */
+public class SimulationRunner implements AutoCloseable {
+    private final int worldWidth; // Width of simulated worlds.
+    private final int worldHeight; // Height of simulated worlds.
+    private final ExecutorService executor; // Threads running sessions.
+
+    /**
+     * Runner of worlds of the size used by Engine.
+     * @param threadCount count of sessions running at the same time.
+     */
+    public SimulationRunner(int threadCount) {
+        this(threadCount, Engine.WORLD_WIDTH, Engine.WORLD_HEIGHT);
+    }
+
+    public SimulationRunner(int threadCount, int worldWidth, int worldHeight) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count is not positive, count: " + threadCount);
+        }
+        if (worldWidth <= 0 || worldHeight <= 0) {
+            throw new IllegalArgumentException("Size of world is not positive, width: " + worldWidth
+                    + ", height: " + worldHeight);
+        }
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "simulation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run one input string in the calling thread, the same as Engine.interactWithInputString of a fresh engine.
+     * @param input the input string.
+     * @return tiles of the last world, or null if no world is entered.
+     */
+    public TETile[][] run(String input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Cannot run null input.");
+        }
+        Path saveDirectory = null;
+        try {
+            saveDirectory = Files.createTempDirectory("simulation");
+            Config config = new Config(worldWidth, worldHeight, Engine.FRAME_WIDTH, Engine.FRAME_HEIGHT,
+                    true, saveDirectory);
+            Engine engine = new Engine(config);
+            return engine.interactWithInputString(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (saveDirectory != null) {
+                deleteDirectory(saveDirectory);
+            }
+        }
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            // Children before their directory.
+            Iterator<Path> iterator = paths.sorted(Comparator.reverseOrder()).iterator();
+            while (iterator.hasNext()) {
+                Files.deleteIfExists(iterator.next());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Run all inputs in parallel.
+     * @return tiles of the last world of each input, null for inputs entering no world.
+     */
+    public List<TETile[][]> runAll(Stream<String> inputs) {
+        return runAll(inputs, this::run);
+    }
+
+    /**
+     * Run all inputs in parallel, keeping only the hash of tiles, see hashOf.
+     * @return hash of tiles of the last world of each input.
+     */
+    public List<Long> hashAll(Stream<String> inputs) {
+        return runAll(inputs, input -> hashOf(run(input)));
+    }
+
+    private <T> List<T> runAll(Stream<String> inputs, Function<String, T> session) {
+        if (inputs == null) {
+            throw new IllegalArgumentException("Cannot run null inputs.");
+        }
+        List<Future<T>> futures = new ArrayList<>();
+        inputs.forEachOrdered(input -> futures.add(executor.submit(() -> session.apply(input))));
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future: futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting simulations.", e);
+        } catch (ExecutionException e) {
+            for (Future<T> future: futures) {
+                future.cancel(true);
+            }
+            throw new IllegalStateException("Simulation failed.", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Hash of characters of tiles, tiles of the same string representation have the same hash.
+     * @return hash of tiles, 0 for null tiles.
+     */
+    public static long hashOf(TETile[][] tiles) {
+        if (tiles == null) {
+            return 0;
+        }
+        final long BASE = 31;
+        long result = 17;
+        result = BASE * result + tiles.length;
+        for (TETile[] column: tiles) {
+            result = BASE * result + column.length;
+            for (TETile tile: column) {
+                result = BASE * result + tile.character();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stop threads after running sessions finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
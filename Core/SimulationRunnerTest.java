@@ -0,0 +1,34 @@
+package Core;
+
+import TileEngine.TETile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class SimulationRunnerTest {
+    @Test
+    public void runAllTest() {
+        try (SimulationRunner runner = new SimulationRunner(4)) {
+            List<TETile[][]> results = runner.runAll(Stream.of("n123sswwdasd", "n123sss:q", "n123sss", "q", "l"));
+            Assert.assertEquals(5, results.size());
+            Assert.assertEquals(TETile.toString(runner.run("n123sswwdasd")), TETile.toString(results.get(0)));
+            // Quitting returns instead of exiting.
+            Assert.assertEquals(TETile.toString(results.get(2)), TETile.toString(results.get(1)));
+            Assert.assertNull(results.get(3));
+            // Sessions do not share saved files.
+            Assert.assertNull(results.get(4));
+        }
+    }
+
+    @Test
+    public void hashAllTest() {
+        try (SimulationRunner runner = new SimulationRunner(2)) {
+            List<Long> hashes = runner.hashAll(Stream.of("n42sww", "n43sww", "n42sww"));
+            Assert.assertEquals(hashes.get(0), hashes.get(2));
+            Assert.assertNotEquals(hashes.get(0), hashes.get(1));
+            Assert.assertEquals(SimulationRunner.hashOf(runner.run("n42sww")), (long) hashes.get(0));
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package Entity;
+
+import Shape.Direction;
+import TileEngine.TETile;
+import TileEngine.TileGrid;
+import TileEngine.Tileset;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * World without fixed size, made of square chunks generated when they are first visited.
+ * Each chunk is generated from its own seed derived from the world seed and its chunk coordinate,
+ * so a chunk is the same whenever and in whatever order it is generated.
+ * Neighbor chunks are stitched by a portal on their shared border: the position of the portal is derived from
+ * the world seed and the border, and both chunks route a hallway from their closest room to their side of the portal.
+ * Only the most recently used chunks are kept, chunks far from the user are evicted and regenerated when visited again.
+ * The goal is on a floor of a chunk GOAL_CHUNK_DISTANCE chunks away from the chunk of the user, derived from the seed,
+ * so a saved world is restored by its seed, chunk settings and the position of user, see ChunkedWorldFile.
+ */
+public class ChunkedWorld {
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+    public static final int DEFAULT_MAX_LOADED_CHUNKS = 64;
+    /**
+     * Distance of rooms from the border of chunk, keeping walls of rooms apart from portals on the border.
+     */
+    private static final int ROOM_MARGIN = 3;
+    private static final int MIN_CHUNK_SIZE = 4 * ROOM_MARGIN;
+    /**
+     * Minimum loaded chunk count, the chunk of user and its neighbor chunks.
+     */
+    private static final int MIN_MAX_LOADED_CHUNKS = 9;
+    /**
+     * Distance in chunks from the chunk of user at start to the chunk of goal.
+     */
+    private static final int GOAL_CHUNK_DISTANCE = 2;
+    private final TETile AVATAR_TILE = Tileset.AVATAR;
+    private final TETile GOAL_TILE = Tileset.GOAL;
+    private final long seed; // Seed of this world.
+    private final int chunkSize; // Side length of chunk in tiles.
+    private final int maxLoadedChunks; // Most chunks kept in memory.
+    private final LinkedHashMap<Long, TileGrid> chunks; // Loaded chunks by chunk key, in least recently used order.
+    private final Point userPosition; // Position of user in world.
+    private final Point goal; // Position of goal in world.
+    private long generatedChunkCount; // Chunks generated so far, including regenerated evicted chunks.
+
+    public ChunkedWorld(long seed) {
+        this(seed, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_LOADED_CHUNKS);
+    }
+
+    public ChunkedWorld(long seed, int chunkSize, int maxLoadedChunks) {
+        if (chunkSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size " + chunkSize + " is less than " + MIN_CHUNK_SIZE);
+        }
+        if (maxLoadedChunks < MIN_MAX_LOADED_CHUNKS) {
+            throw new IllegalArgumentException("Max loaded chunk count " + maxLoadedChunks
+                    + " is less than " + MIN_MAX_LOADED_CHUNKS);
+        }
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+        this.maxLoadedChunks = maxLoadedChunks;
+        this.chunks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TileGrid> eldest) {
+                return size() > maxLoadedChunks;
+            }
+        };
+        this.userPosition = new Point(0, 0);
+        this.goal = new Point(0, 0);
+        placeUser();
+        placeGoal();
+    }
+
+    /**
+     * Put user at the first floor of the chunk at (0, 0), there is always floor at portals.
+     */
+    private void placeUser() {
+        TileGrid chunk = chunk(0, 0);
+        for (int x = 0; x < chunkSize; x++) {
+            for (int y = 0; y < chunkSize; y++) {
+                if (chunk.tileAt(x, y).equals(Tileset.FLOOR)) {
+                    userPosition.x = x;
+                    userPosition.y = y;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Put goal on a floor of a chunk on the ring GOAL_CHUNK_DISTANCE chunks around the chunk at (0, 0),
+     * the chunk and the first floor searched from are picked by the seed.
+     */
+    private void placeGoal() {
+        final int RING_CHUNK_COUNT = 8 * GOAL_CHUNK_DISTANCE;
+        // Walk the ring counterclockwise from its left bottom corner to the picked chunk.
+        int ringIndex = (int) Math.floorMod(mix(seed, 0, 0, 3), (long) RING_CHUNK_COUNT);
+        int side = ringIndex / (2 * GOAL_CHUNK_DISTANCE);
+        int step = ringIndex % (2 * GOAL_CHUNK_DISTANCE);
+        int goalChunkX;
+        int goalChunkY;
+        switch (side) {
+            case 0:
+                goalChunkX = -GOAL_CHUNK_DISTANCE + step;
+                goalChunkY = -GOAL_CHUNK_DISTANCE;
+                break;
+            case 1:
+                goalChunkX = GOAL_CHUNK_DISTANCE;
+                goalChunkY = -GOAL_CHUNK_DISTANCE + step;
+                break;
+            case 2:
+                goalChunkX = GOAL_CHUNK_DISTANCE - step;
+                goalChunkY = GOAL_CHUNK_DISTANCE;
+                break;
+            default:
+                goalChunkX = -GOAL_CHUNK_DISTANCE;
+                goalChunkY = GOAL_CHUNK_DISTANCE - step;
+        }
+        TileGrid chunk = chunk(goalChunkX, goalChunkY);
+        final int CELL_COUNT = chunkSize * chunkSize;
+        int firstCell = (int) Math.floorMod(mix(seed, goalChunkX, goalChunkY, 4), (long) CELL_COUNT);
+        for (int i = 0; i < CELL_COUNT; i++) {
+            int cell = (firstCell + i) % CELL_COUNT;
+            int x = cell / chunkSize;
+            int y = cell % chunkSize;
+            if (chunk.tileAt(x, y).equals(Tileset.FLOOR)) {
+                goal.x = goalChunkX * chunkSize + x;
+                goal.y = goalChunkY * chunkSize + y;
+                return;
+            }
+        }
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    public int maxLoadedChunks() {
+        return maxLoadedChunks;
+    }
+
+    /**
+     * Count of chunks currently kept in memory.
+     */
+    public int loadedChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Count of chunks generated so far, a chunk evicted and visited again is generated again.
+     */
+    long generatedChunkCount() {
+        return generatedChunkCount;
+    }
+
+    /**
+     * Whether the chunk containing (x, y) is kept in memory.
+     */
+    public boolean isLoaded(int x, int y) {
+        return chunks.containsKey(chunkKey(Math.floorDiv(x, chunkSize), Math.floorDiv(y, chunkSize)));
+    }
+
+    public Point userPosition() {
+        return new Point(userPosition);
+    }
+
+    public Point goalPosition() {
+        return new Point(goal);
+    }
+
+    public boolean foundGoal() {
+        return userPosition.equals(goal);
+    }
+
+    private static long chunkKey(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Chunk at chunk coordinate (chunkX, chunkY), generating it if it is not loaded.
+     */
+    private TileGrid chunk(int chunkX, int chunkY) {
+        long key = chunkKey(chunkX, chunkY);
+        TileGrid chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = generateChunk(chunkX, chunkY);
+            generatedChunkCount++;
+            chunks.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    private TileGrid generateChunk(int chunkX, int chunkY) {
+        // Portals on left, right, bottom and top borders.
+        List<Point> portals = new ArrayList<>();
+        portals.add(new Point(0, portalOffset(chunkX - 1, chunkY, false)));
+        portals.add(new Point(chunkSize - 1, portalOffset(chunkX, chunkY, false)));
+        portals.add(new Point(portalOffset(chunkX, chunkY - 1, true), 0));
+        portals.add(new Point(portalOffset(chunkX, chunkY, true), chunkSize - 1));
+        World chunkWorld = new World(chunkSize, chunkSize);
+        chunkWorld.randChunk(mix(seed, chunkX, chunkY, 0), ROOM_MARGIN, portals);
+        return chunkWorld.tileGrid();
+    }
+
+    /**
+     * Offset along the border of portal between chunk (chunkX, chunkY) and its right or top neighbor chunk.
+     * @param top true for the border with the top neighbor, false for the right neighbor.
+     */
+    private int portalOffset(int chunkX, int chunkY, boolean top) {
+        final int PORTAL_RANGE = chunkSize - 2 * ROOM_MARGIN;
+        long hash = mix(seed, chunkX, chunkY, top ? 2 : 1);
+        return ROOM_MARGIN + (int) Math.floorMod(hash, (long) PORTAL_RANGE);
+    }
+
+    /**
+     * Well mixed 64-bit hash of seed, chunk coordinate and purpose, by the finalizer of SplitMix64.
+     */
+    private static long mix(long seed, int chunkX, int chunkY, int purpose) {
+        long z = seed;
+        z = z * 0x9E3779B97F4A7C15L + chunkX;
+        z = z * 0x9E3779B97F4A7C15L + chunkY;
+        z = z * 0x9E3779B97F4A7C15L + purpose;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Tile of world at (x, y) without user.
+     */
+    private TETile worldTileAt(int x, int y) {
+        TileGrid chunk = chunk(Math.floorDiv(x, chunkSize), Math.floorDiv(y, chunkSize));
+        return chunk.tileAt(Math.floorMod(x, chunkSize), Math.floorMod(y, chunkSize));
+    }
+
+    /**
+     * Tile at (x, y), generating its chunk if needed.
+     */
+    public TETile tileAt(int x, int y) {
+        if (x == goal.x && y == goal.y) {
+            return GOAL_TILE;
+        }
+        if (x == userPosition.x && y == userPosition.y) {
+            return AVATAR_TILE;
+        }
+        return worldTileAt(x, y);
+    }
+
+    public String descriptionAt(int x, int y) {
+        return tileAt(x, y).description();
+    }
+
+    /**
+     * Tiles of the width x height area whose left bottom corner is at (minX, minY).
+     * The area is copied chunk by chunk, so each chunk is generated at most once even if the area
+     * spans more chunks than can be loaded.
+     */
+    public TETile[][] tiles(int minX, int minY, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Size of area is not positive, width: " + width + ", height: " + height);
+        }
+        TETile[][] result = new TETile[width][height];
+        int maxX = minX + width - 1;
+        int maxY = minY + height - 1;
+        for (int chunkX = Math.floorDiv(minX, chunkSize); chunkX <= Math.floorDiv(maxX, chunkSize); chunkX++) {
+            for (int chunkY = Math.floorDiv(minY, chunkSize); chunkY <= Math.floorDiv(maxY, chunkSize); chunkY++) {
+                TileGrid chunk = chunk(chunkX, chunkY);
+                // Part of area inside chunk, in world coordinate.
+                int fromX = Math.max(minX, chunkX * chunkSize);
+                int toX = Math.min(maxX, chunkX * chunkSize + chunkSize - 1);
+                int fromY = Math.max(minY, chunkY * chunkSize);
+                int toY = Math.min(maxY, chunkY * chunkSize + chunkSize - 1);
+                for (int x = fromX; x <= toX; x++) {
+                    for (int y = fromY; y <= toY; y++) {
+                        result[x - minX][y - minY] = chunk.tileAt(x - chunkX * chunkSize, y - chunkY * chunkSize);
+                    }
+                }
+            }
+        }
+        if (minX <= userPosition.x && userPosition.x <= maxX && minY <= userPosition.y && userPosition.y <= maxY) {
+            result[userPosition.x - minX][userPosition.y - minY] = AVATAR_TILE;
+        }
+        if (minX <= goal.x && goal.x <= maxX && minY <= goal.y && goal.y <= maxY) {
+            result[goal.x - minX][goal.y - minY] = GOAL_TILE;
+        }
+        return result;
+    }
+
+    public void moveUser(Direction direction) {
+        moveUserTo(userPosition.x + direction.deltaX(), userPosition.y + direction.deltaY());
+    }
+
+    /**
+     * Put user at (x, y), e.g. restoring a saved world, unless the tile there blocks the user.
+     * @return True, if the user is moved.
+     */
+    boolean moveUserTo(int x, int y) {
+        TileGrid chunk = chunk(Math.floorDiv(x, chunkSize), Math.floorDiv(y, chunkSize));
+        if (chunk.isBlocking(Math.floorMod(x, chunkSize), Math.floorMod(y, chunkSize))) {
+            return false;
+        }
+        userPosition.x = x;
+        userPosition.y = y;
+        touchChunksAroundUser();
+        return true;
+    }
+
+    /**
+     * Mark loaded chunks around user as recently used, so that chunks far from user are evicted first.
+     */
+    private void touchChunksAroundUser() {
+        int userChunkX = Math.floorDiv(userPosition.x, chunkSize);
+        int userChunkY = Math.floorDiv(userPosition.y, chunkSize);
+        for (int chunkX = userChunkX - 1; chunkX <= userChunkX + 1; chunkX++) {
+            for (int chunkY = userChunkY - 1; chunkY <= userChunkY + 1; chunkY++) {
+                chunks.get(chunkKey(chunkX, chunkY));
+            }
+        }
+        chunks.get(chunkKey(userChunkX, userChunkY));
+    }
+}
@@ -0,0 +1,74 @@
+package Entity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Save of chunked world, as chunks are generated from the seed only the settings and the user are written.
+ *
+ * Layout:
+ * header:   magic (4 bytes "BYOC"), version (4 bytes).
+ * world:    seed (8 bytes), chunk size (4 bytes), max loaded chunk count (4 bytes).
+ * entities: user x (4 bytes), user y (4 bytes).
+ */
+public class ChunkedWorldFile {
+    public static final int MAGIC = 0x42594F43; // "BYOC" in ASCII.
+    public static final int VERSION = 1;
+    private static final int FILE_SIZE = 32;
+
+    /**
+     * Save world to file at path, replacing the file if it exists.
+     */
+    public static void save(ChunkedWorld world, Path path) throws IOException {
+        if (world == null) {
+            throw new IllegalArgumentException("Cannot save null chunked world.");
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("Cannot save chunked world to null path.");
+        }
+        ByteBuffer data = ByteBuffer.allocate(FILE_SIZE);
+        data.putInt(MAGIC);
+        data.putInt(VERSION);
+        data.putLong(world.seed());
+        data.putInt(world.chunkSize());
+        data.putInt(world.maxLoadedChunks());
+        data.putInt(world.userPosition().x);
+        data.putInt(world.userPosition().y);
+        Files.write(path, data.array());
+    }
+
+    /**
+     * Load world from file at path, generating the chunks around the saved user.
+     * @throws IOException if the file is not a saved chunked world, is of unsupported version or is invalid.
+     */
+    public static ChunkedWorld load(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Cannot load chunked world from null path.");
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (data.remaining() < FILE_SIZE || data.getInt() != MAGIC) {
+            throw new IOException("Not a saved chunked world.");
+        }
+        int version = data.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of saved chunked world: " + version);
+        }
+        long seed = data.getLong();
+        int chunkSize = data.getInt();
+        int maxLoadedChunks = data.getInt();
+        int userX = data.getInt();
+        int userY = data.getInt();
+        ChunkedWorld world;
+        try {
+            world = new ChunkedWorld(seed, chunkSize, maxLoadedChunks);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+        if (!world.moveUserTo(userX, userY)) {
+            throw new IOException("User of saved chunked world is on a blocking tile at (" + userX + ", " + userY + ")");
+        }
+        return world;
+    }
+}
@@ -0,0 +1,45 @@
+package Entity;
+
+import Shape.Direction;
+import TileEngine.TETile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ChunkedWorldFileTest {
+    @Test
+    public void saveLoadTest() throws IOException {
+        ChunkedWorld world = new ChunkedWorld(1234, 32, 16);
+        for (Direction direction: new Direction[]{Direction.TOP, Direction.RIGHT, Direction.RIGHT, Direction.BOTTOM}) {
+            world.moveUser(direction);
+        }
+        Path path = Files.createTempFile("chunked", ".save");
+        try {
+            ChunkedWorldFile.save(world, path);
+            ChunkedWorld loaded = ChunkedWorldFile.load(path);
+            Assert.assertEquals(world.seed(), loaded.seed());
+            Assert.assertEquals(world.chunkSize(), loaded.chunkSize());
+            Assert.assertEquals(world.maxLoadedChunks(), loaded.maxLoadedChunks());
+            Assert.assertEquals(world.userPosition(), loaded.userPosition());
+            Assert.assertEquals(world.goalPosition(), loaded.goalPosition());
+            Assert.assertEquals(TETile.toString(world.tiles(-40, -40, 80, 80)),
+                    TETile.toString(loaded.tiles(-40, -40, 80, 80)));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void notSavedWorldTest() throws IOException {
+        Path path = Files.createTempFile("chunked", ".save");
+        try {
+            Files.write(path, new byte[]{1, 2, 3});
+            ChunkedWorldFile.load(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
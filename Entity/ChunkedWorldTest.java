@@ -0,0 +1,132 @@
+package Entity;
+
+import Shape.Direction;
+import TileEngine.TETile;
+import TileEngine.Tileset;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+
+public class ChunkedWorldTest {
+    private static final int CHUNK_SIZE = 32;
+
+    @Test
+    public void deterministicTest() {
+        ChunkedWorld world = new ChunkedWorld(42, CHUNK_SIZE, 9);
+        ChunkedWorld otherWorld = new ChunkedWorld(42, CHUNK_SIZE, 9);
+        // Visit chunks in different orders, evicting and regenerating some of them.
+        String farArea = TETile.toString(world.tiles(-1000, 5000, 100, 80));
+        String nearArea = TETile.toString(world.tiles(-40, -40, 80, 80));
+        Assert.assertEquals(nearArea, TETile.toString(otherWorld.tiles(-40, -40, 80, 80)));
+        Assert.assertEquals(farArea, TETile.toString(otherWorld.tiles(-1000, 5000, 100, 80)));
+        Assert.assertEquals(nearArea, TETile.toString(otherWorld.tiles(-40, -40, 80, 80)));
+        Assert.assertTrue(world.loadedChunkCount() <= 9);
+        Assert.assertNotEquals(farArea, TETile.toString(new ChunkedWorld(43, CHUNK_SIZE, 9).tiles(-1000, 5000, 100, 80)));
+    }
+
+    @Test
+    public void tallAreaTest() {
+        // The area spans 3 x 12 chunks, more than the 9 loaded chunks.
+        final int CHUNK_COLUMNS = 3;
+        final int CHUNK_ROWS = 12;
+        ChunkedWorld world = new ChunkedWorld(42, CHUNK_SIZE, 9);
+        long generatedBefore = world.generatedChunkCount();
+        TETile[][] area = world.tiles(0, 0, CHUNK_COLUMNS * CHUNK_SIZE, CHUNK_ROWS * CHUNK_SIZE);
+        // Chunks of user placement may be loaded already, every other chunk is generated once.
+        Assert.assertTrue(world.generatedChunkCount() - generatedBefore <= CHUNK_COLUMNS * CHUNK_ROWS);
+        ChunkedWorld otherWorld = new ChunkedWorld(42, CHUNK_SIZE, 64);
+        for (int x = 0; x < area.length; x++) {
+            for (int y = 0; y < area[0].length; y++) {
+                Assert.assertSame(otherWorld.tileAt(x, y), area[x][y]);
+            }
+        }
+    }
+
+    @Test
+    public void connectedAcrossChunksTest() {
+        ChunkedWorld world = new ChunkedWorld(7, CHUNK_SIZE, 16);
+        // Flood fill floor of 3 x 3 chunks from user, every floor must be reached.
+        final int MIN_XY = -CHUNK_SIZE;
+        final int MAX_XY = 2 * CHUNK_SIZE - 1;
+        HashSet<Point> reached = new HashSet<>();
+        ArrayDeque<Point> queue = new ArrayDeque<>();
+        queue.add(world.userPosition());
+        reached.add(world.userPosition());
+        while (!queue.isEmpty()) {
+            Point position = queue.poll();
+            Point[] neighbors = {new Point(position.x + 1, position.y), new Point(position.x - 1, position.y),
+                    new Point(position.x, position.y + 1), new Point(position.x, position.y - 1)};
+            for (Point neighbor: neighbors) {
+                if (neighbor.x < MIN_XY || MAX_XY < neighbor.x || neighbor.y < MIN_XY || MAX_XY < neighbor.y) {
+                    continue;
+                }
+                TETile tile = world.tileAt(neighbor.x, neighbor.y);
+                if (!tile.equals(Tileset.FLOOR) && !tile.equals(Tileset.UNLOCKED_DOOR)) {
+                    continue;
+                }
+                if (reached.add(neighbor)) {
+                    queue.add(neighbor);
+                }
+            }
+        }
+        for (int x = MIN_XY; x <= MAX_XY; x++) {
+            for (int y = MIN_XY; y <= MAX_XY; y++) {
+                if (world.tileAt(x, y).equals(Tileset.FLOOR)) {
+                    Assert.assertTrue("Floor at (" + x + ", " + y + ") is not reached.", reached.contains(new Point(x, y)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void goalTest() {
+        ChunkedWorld world = new ChunkedWorld(7, CHUNK_SIZE, 64);
+        Point goal = world.goalPosition();
+        Assert.assertEquals(goal, new ChunkedWorld(7, CHUNK_SIZE, 9).goalPosition());
+        Assert.assertSame(Tileset.GOAL, world.tileAt(goal.x, goal.y));
+        Assert.assertSame(Tileset.GOAL, world.tiles(goal.x, goal.y, 1, 1)[0][0]);
+        int goalChunkDistance = Math.max(Math.abs(Math.floorDiv(goal.x, CHUNK_SIZE)),
+                Math.abs(Math.floorDiv(goal.y, CHUNK_SIZE)));
+        Assert.assertEquals(2, goalChunkDistance);
+        // Walk the shortest path to goal, found by breadth first search over 5 x 5 chunks around the start.
+        final int MIN_XY = -2 * CHUNK_SIZE;
+        final int MAX_XY = 3 * CHUNK_SIZE - 1;
+        final Direction[] DIRECTIONS = {Direction.TOP, Direction.RIGHT, Direction.BOTTOM, Direction.LEFT};
+        HashMap<Point, Direction> reachedBy = new HashMap<>();
+        ArrayDeque<Point> queue = new ArrayDeque<>();
+        queue.add(world.userPosition());
+        reachedBy.put(world.userPosition(), null);
+        while (!queue.isEmpty() && !reachedBy.containsKey(goal)) {
+            Point position = queue.poll();
+            for (Direction direction: DIRECTIONS) {
+                Point neighbor = new Point(position.x + direction.deltaX(), position.y + direction.deltaY());
+                if (neighbor.x < MIN_XY || MAX_XY < neighbor.x || neighbor.y < MIN_XY || MAX_XY < neighbor.y
+                        || reachedBy.containsKey(neighbor)) {
+                    continue;
+                }
+                TETile tile = world.tileAt(neighbor.x, neighbor.y);
+                if (tile.equals(Tileset.FLOOR) || tile.equals(Tileset.UNLOCKED_DOOR) || tile.equals(Tileset.GOAL)) {
+                    reachedBy.put(neighbor, direction);
+                    queue.add(neighbor);
+                }
+            }
+        }
+        Assert.assertTrue("Goal at " + goal + " is not reached.", reachedBy.containsKey(goal));
+        ArrayDeque<Direction> path = new ArrayDeque<>();
+        Point position = new Point(goal);
+        while (reachedBy.get(position) != null) {
+            Direction direction = reachedBy.get(position);
+            path.push(direction);
+            position = new Point(position.x - direction.deltaX(), position.y - direction.deltaY());
+        }
+        for (Direction direction: path) {
+            Assert.assertFalse(world.foundGoal());
+            world.moveUser(direction);
+        }
+        Assert.assertTrue(world.foundGoal());
+    }
+}
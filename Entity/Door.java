@@ -2,6 +2,7 @@ package Entity;
 
 import Core.PointUtils;
 import TileEngine.TETile;
+import TileEngine.TileGrid;
 
 import java.awt.*;
 import java.io.Serializable;
@@ -63,6 +64,20 @@ public class Door implements Serializable {
         }
     }
 
+    /**
+     * Fill the grid with tile of this door.
+     * @param grid the target to fill with.
+     */
+    public void fill(TileGrid grid) {
+        if (grid == null) {
+            throw new IllegalArgumentException("Cannot add tiles of door to null grid.");
+        }
+        if (!grid.inBoundary(x, y)) {
+            return;
+        }
+        grid.setTile(x, y, opened ? openedTile : closedTile);
+    }
+
     @Override
     public String toString() {
         return "x = " + x + ", y = " + y + ", opened = " + opened;
@@ -0,0 +1,199 @@
+package Entity;
+
+import Core.GridMask;
+import TileEngine.TileGrid;
+
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cells of world seen by the user, computed by recursive shadowcasting over blocking tiles of world,
+ * e.g. walls and locked doors, within radius of the user.
+ * Visibility of each user position is cached as a bitset of the square window around the position,
+ * the cache is dropped only when blocking cells of world change, e.g. doors are opened.
+ * Cells ever seen are kept in the explored mask, remembered even after they go out of sight.
+ */
+public class FieldOfView {
+    public static final int DEFAULT_RADIUS = 8;
+    private static final int MAX_CACHED_POSITIONS = 1024;
+    /**
+     * Multipliers transforming octant coordinate (column, row) to world offset, one column per octant.
+     */
+    private static final int[][] OCTANT_MULTIPLIERS = {
+            {1, 0, 0, -1, -1, 0, 0, 1},
+            {0, 1, -1, 0, 0, -1, 1, 0},
+            {0, 1, 1, 0, 0, -1, -1, 0},
+            {1, 0, 0, 1, -1, 0, 0, -1}
+    };
+    private final World world;
+    private final int radius; // Farthest distance in cells the user can see.
+    private final int windowSide; // Side of the visibility window, 2 * radius + 1.
+    private final GridMask explored; // Cells ever visible.
+    private final LinkedHashMap<Integer, long[]> visibilityCache; // Window bitsets by packed user position.
+    private long cachedBlockingVersion; // Blocking version of world when the cache was built.
+    private long[] visibleWindow; // Visibility window of the last update.
+    private int windowMinX; // Left x of the visibility window.
+    private int windowMinY; // Bottom y of the visibility window.
+
+    public FieldOfView(World world, int radius) {
+        if (world == null) {
+            throw new IllegalArgumentException("Cannot compute field of view of null world.");
+        }
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius of field of view is negative, radius: " + radius);
+        }
+        this.world = world;
+        this.radius = radius;
+        this.windowSide = 2 * radius + 1;
+        this.explored = new GridMask(world.width(), world.height());
+        this.visibilityCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, long[]> eldest) {
+                return size() > MAX_CACHED_POSITIONS;
+            }
+        };
+        this.cachedBlockingVersion = world.tileGrid().blockingVersion();
+        update();
+    }
+
+    public int radius() {
+        return radius;
+    }
+
+    /**
+     * Recompute visible cells around the current user position, and mark them explored.
+     */
+    public void update() {
+        TileGrid grid = world.tileGrid();
+        if (grid.blockingVersion() != cachedBlockingVersion) {
+            visibilityCache.clear();
+            cachedBlockingVersion = grid.blockingVersion();
+        }
+        Point userPosition = world.userPosition();
+        windowMinX = userPosition.x - radius;
+        windowMinY = userPosition.y - radius;
+        int positionKey = grid.index(userPosition.x, userPosition.y);
+        visibleWindow = visibilityCache.get(positionKey);
+        if (visibleWindow == null) {
+            visibleWindow = castShadows(grid, userPosition.x, userPosition.y);
+            visibilityCache.put(positionKey, visibleWindow);
+        }
+        for (int i = 0; i < windowSide * windowSide; i++) {
+            if ((visibleWindow[i >>> 6] & (1L << i)) != 0) {
+                explored.set(windowMinX + i / windowSide, windowMinY + i % windowSide, true);
+            }
+        }
+    }
+
+    /**
+     * Whether cell at (x, y) is seen from the user position of the last update.
+     */
+    public boolean isVisible(int x, int y) {
+        int windowX = x - windowMinX;
+        int windowY = y - windowMinY;
+        if (windowX < 0 || windowSide <= windowX || windowY < 0 || windowSide <= windowY) {
+            return false;
+        }
+        int i = windowX * windowSide + windowY;
+        return (visibleWindow[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Whether cell at (x, y) has ever been seen.
+     */
+    public boolean isExplored(int x, int y) {
+        return explored.get(x, y);
+    }
+
+    /**
+     * Left x of the square window of cells which can be visible after the last update.
+     */
+    public int windowMinX() {
+        return windowMinX;
+    }
+
+    /**
+     * Bottom y of the square window of cells which can be visible after the last update.
+     */
+    public int windowMinY() {
+        return windowMinY;
+    }
+
+    /**
+     * Side length of the square window of cells which can be visible.
+     */
+    public int windowSide() {
+        return windowSide;
+    }
+
+    /**
+     * Visibility window of user at (userX, userY), cells outside world are never visible.
+     */
+    private long[] castShadows(TileGrid grid, int userX, int userY) {
+        long[] window = new long[(windowSide * windowSide + 63) >>> 6];
+        markVisible(grid, window, userX, userY, userX, userY);
+        for (int octant = 0; octant < 8; octant++) {
+            castLight(grid, window, userX, userY, 1, 1.0, 0.0,
+                    OCTANT_MULTIPLIERS[0][octant], OCTANT_MULTIPLIERS[1][octant],
+                    OCTANT_MULTIPLIERS[2][octant], OCTANT_MULTIPLIERS[3][octant]);
+        }
+        return window;
+    }
+
+    /**
+     * Scan rows of one octant from row outward, lighting cells between start and end slopes,
+     * and recursing into the part of the next rows which is not shadowed by a run of blocking cells.
+     */
+    private void castLight(TileGrid grid, long[] window, int userX, int userY, int row,
+                           double startSlope, double endSlope, int xx, int xy, int yx, int yy) {
+        if (startSlope < endSlope) {
+            return;
+        }
+        final int RADIUS_SQR = radius * radius;
+        double nextStartSlope = startSlope;
+        for (int distance = row; distance <= radius; distance++) {
+            boolean blocked = false;
+            int deltaY = -distance;
+            for (int deltaX = -distance; deltaX <= 0; deltaX++) {
+                int x = userX + deltaX * xx + deltaY * xy;
+                int y = userY + deltaX * yx + deltaY * yy;
+                double leftSlope = (deltaX - 0.5) / (deltaY + 0.5);
+                double rightSlope = (deltaX + 0.5) / (deltaY - 0.5);
+                if (startSlope < rightSlope) {
+                    continue;
+                }
+                if (endSlope > leftSlope) {
+                    break;
+                }
+                if (deltaX * deltaX + deltaY * deltaY <= RADIUS_SQR) {
+                    markVisible(grid, window, userX, userY, x, y);
+                }
+                boolean isBlocking = !grid.inBoundary(x, y) || grid.blockingMask().getIndex(grid.index(x, y));
+                if (blocked) {
+                    if (isBlocking) {
+                        nextStartSlope = rightSlope;
+                    } else {
+                        blocked = false;
+                        startSlope = nextStartSlope;
+                    }
+                } else if (isBlocking && distance < radius) {
+                    blocked = true;
+                    castLight(grid, window, userX, userY, distance + 1, startSlope, leftSlope, xx, xy, yx, yy);
+                    nextStartSlope = rightSlope;
+                }
+            }
+            if (blocked) {
+                break;
+            }
+        }
+    }
+
+    private void markVisible(TileGrid grid, long[] window, int userX, int userY, int x, int y) {
+        if (!grid.inBoundary(x, y)) {
+            return;
+        }
+        int i = (x - userX + radius) * windowSide + (y - userY + radius);
+        window[i >>> 6] |= 1L << i;
+    }
+}
@@ -0,0 +1,71 @@
+package Entity;
+
+import Shape.Direction;
+import TileEngine.TileGrid;
+import TileEngine.Tileset;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FieldOfViewTest {
+    @Test
+    public void shadowTest() {
+        World world = new World(30, 30);
+        TileGrid grid = world.tileGrid();
+        grid.fill(Tileset.FLOOR);
+        // Wall at x = 15 from y = 10 to y = 20.
+        for (int y = 10; y <= 20; y++) {
+            grid.setTile(15, y, Tileset.WALL);
+        }
+        world.placeUserAndGoal(12, 15, 0, 0);
+        FieldOfView fieldOfView = new FieldOfView(world, 8);
+        Assert.assertTrue(fieldOfView.isVisible(12, 15));
+        Assert.assertTrue(fieldOfView.isVisible(14, 15));
+        // The wall itself is visible, cells behind it are not.
+        Assert.assertTrue(fieldOfView.isVisible(15, 15));
+        Assert.assertFalse(fieldOfView.isVisible(16, 15));
+        Assert.assertFalse(fieldOfView.isVisible(19, 15));
+        // Cells out of radius are not visible.
+        Assert.assertTrue(fieldOfView.isVisible(12, 23));
+        Assert.assertFalse(fieldOfView.isVisible(12, 24));
+        Assert.assertFalse(fieldOfView.isVisible(-1, 15));
+        Assert.assertTrue(fieldOfView.isExplored(14, 15));
+        Assert.assertFalse(fieldOfView.isExplored(19, 15));
+    }
+
+    @Test
+    public void exploredTest() {
+        World world = new World(30, 30);
+        TileGrid grid = world.tileGrid();
+        grid.fill(Tileset.FLOOR);
+        world.placeUserAndGoal(2, 2, 0, 0);
+        FieldOfView fieldOfView = new FieldOfView(world, 3);
+        Assert.assertTrue(fieldOfView.isVisible(4, 2));
+        Assert.assertFalse(fieldOfView.isExplored(10, 2));
+        for (int i = 0; i < 8; i++) {
+            world.moveUser(Direction.RIGHT);
+            fieldOfView.update();
+        }
+        Assert.assertTrue(fieldOfView.isVisible(10, 2));
+        // Cells left behind are remembered but not visible.
+        Assert.assertFalse(fieldOfView.isVisible(2, 2));
+        Assert.assertTrue(fieldOfView.isExplored(2, 2));
+    }
+
+    @Test
+    public void blockingChangeTest() {
+        World world = new World(20, 20);
+        TileGrid grid = world.tileGrid();
+        grid.fill(Tileset.FLOOR);
+        world.placeUserAndGoal(5, 5, 0, 0);
+        FieldOfView fieldOfView = new FieldOfView(world, 6);
+        Assert.assertTrue(fieldOfView.isVisible(8, 5));
+        // Closing a door drops the cached visibility of the position.
+        grid.setTile(6, 5, Tileset.LOCKED_DOOR);
+        fieldOfView.update();
+        Assert.assertTrue(fieldOfView.isVisible(6, 5));
+        Assert.assertFalse(fieldOfView.isVisible(8, 5));
+        grid.setTile(6, 5, Tileset.UNLOCKED_DOOR);
+        fieldOfView.update();
+        Assert.assertTrue(fieldOfView.isVisible(8, 5));
+    }
+}
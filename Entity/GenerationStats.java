@@ -0,0 +1,192 @@
+package Entity;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Metrics of one world generation, to spot seeds which are slow or place rooms and hallways badly.
+ * Each phase records its wall time and the bytes allocated by the generating thread,
+ * work done on other threads, e.g. parallel placement and routing, is not counted in allocation.
+ */
+public class GenerationStats {
+    /**
+     * Phases of world generation, in the order they run.
+     */
+    public enum Phase {
+        /** Randomly placing rooms. */
+        PLACE_ROOMS,
+        /** Choosing hallways connecting rooms. */
+        CONNECT_ROOMS,
+        /** Filling rooms and their doors on tiles. */
+        FILL_ROOMS,
+        /** Tracing hallways and filling them on tiles. */
+        FILL_HALLWAYS,
+        /** Placing user and goal. */
+        PLACE_GOAL
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private final long seed; // Seed of the generated world.
+    private final long[] phaseNanos; // Wall time of each phase.
+    private final long[] phaseAllocatedBytes; // Bytes allocated by the generating thread in each phase.
+    private final boolean allocationSupported; // Whether the JVM measures allocated bytes of a thread.
+    private Phase currentPhase; // Phase started but not ended yet.
+    private long phaseStartNanos;
+    private long phaseStartBytes;
+    private long roomAttempts; // Rooms tried to place.
+    private long rejectedRooms; // Tried rooms overlapping placed rooms.
+    private int roomCount; // Rooms in the generated world.
+    private int hallwayCount; // Hallways in the generated world.
+    private long expandedCount; // Cells expanded by path finders tracing all hallways.
+    private long maxExpandedCount; // Most cells expanded tracing one hallway.
+    private int failedTraces; // Hallways which cannot be traced.
+
+    GenerationStats(long seed) {
+        this.seed = seed;
+        this.phaseNanos = new long[PHASES.length];
+        this.phaseAllocatedBytes = new long[PHASES.length];
+        this.allocationSupported = allocatedBytes() >= 0;
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, -1 if the JVM does not measure it.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean allocationBean)) {
+            return -1;
+        }
+        if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Start measuring phase, until endPhase is called. A phase run more than once is summed.
+     */
+    void beginPhase(Phase phase) {
+        if (currentPhase != null) {
+            throw new IllegalStateException("Cannot begin phase " + phase + " before ending phase " + currentPhase);
+        }
+        currentPhase = phase;
+        phaseStartBytes = allocationSupported ? allocatedBytes() : 0;
+        phaseStartNanos = System.nanoTime();
+    }
+
+    void endPhase() {
+        if (currentPhase == null) {
+            throw new IllegalStateException("Cannot end phase before beginning one.");
+        }
+        phaseNanos[currentPhase.ordinal()] += System.nanoTime() - phaseStartNanos;
+        if (allocationSupported) {
+            phaseAllocatedBytes[currentPhase.ordinal()] += allocatedBytes() - phaseStartBytes;
+        }
+        currentPhase = null;
+    }
+
+    void addRoomAttempts(long attempts, long rejected) {
+        roomAttempts += attempts;
+        rejectedRooms += rejected;
+    }
+
+    void recordRooms(RectRooms rooms) {
+        roomCount = rooms.size();
+    }
+
+    void recordHallways(Hallways hallways) {
+        hallwayCount = hallways.size();
+        expandedCount = hallways.expandedCount();
+        maxExpandedCount = hallways.maxExpandedCount();
+        failedTraces = hallways.failedTraceCount();
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Wall time of phase in nanoseconds.
+     */
+    public long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Wall time of all phases in nanoseconds.
+     */
+    public long totalNanos() {
+        long total = 0;
+        for (long nanos: phaseNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    /**
+     * Bytes allocated by the generating thread in phase, -1 if the JVM does not measure it.
+     */
+    public long phaseAllocatedBytes(Phase phase) {
+        return allocationSupported ? phaseAllocatedBytes[phase.ordinal()] : -1;
+    }
+
+    public long roomAttempts() {
+        return roomAttempts;
+    }
+
+    public long rejectedRooms() {
+        return rejectedRooms;
+    }
+
+    public int roomCount() {
+        return roomCount;
+    }
+
+    public int hallwayCount() {
+        return hallwayCount;
+    }
+
+    /**
+     * Cells expanded by path finders tracing all hallways.
+     */
+    public long expandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Most cells expanded by path finder tracing one hallway.
+     */
+    public long maxExpandedCount() {
+        return maxExpandedCount;
+    }
+
+    /**
+     * Average cells expanded by path finder per hallway.
+     */
+    public double meanExpandedCount() {
+        return hallwayCount == 0 ? 0 : (double) expandedCount / hallwayCount;
+    }
+
+    public int failedTraces() {
+        return failedTraces;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("seed=").append(seed);
+        for (Phase phase: PHASES) {
+            builder.append(", ").append(phase).append("=").append(phaseNanos(phase) / 1000).append("us");
+            if (allocationSupported) {
+                builder.append("/").append(phaseAllocatedBytes(phase) / 1024).append("KiB");
+            }
+        }
+        builder.append(", roomAttempts=").append(roomAttempts)
+                .append(", rejectedRooms=").append(rejectedRooms)
+                .append(", rooms=").append(roomCount)
+                .append(", hallways=").append(hallwayCount)
+                .append(", expanded=").append(expandedCount)
+                .append(", maxExpanded=").append(maxExpandedCount)
+                .append(", failedTraces=").append(failedTraces);
+        return builder.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package Entity;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenerationStatsTest {
+    @Test
+    public void sequentialWorldTest() {
+        World world = new World(80, 30);
+        Assert.assertNull(world.lastGenerationStats());
+        world.randWorld(42);
+        GenerationStats stats = world.lastGenerationStats();
+        Assert.assertEquals(42, stats.seed());
+        Assert.assertEquals(world.rooms().size(), stats.roomCount());
+        Assert.assertEquals(world.hallways().size(), stats.hallwayCount());
+        Assert.assertTrue(stats.roomAttempts() >= stats.roomCount());
+        Assert.assertEquals(stats.roomAttempts() - stats.roomCount(), stats.rejectedRooms());
+        Assert.assertTrue(stats.expandedCount() > 0);
+        Assert.assertTrue(stats.maxExpandedCount() <= stats.expandedCount());
+        Assert.assertTrue(stats.maxExpandedCount() >= stats.meanExpandedCount());
+        Assert.assertEquals(0, stats.failedTraces());
+        long phaseTotal = 0;
+        for (GenerationStats.Phase phase: GenerationStats.Phase.values()) {
+            Assert.assertTrue(stats.phaseNanos(phase) >= 0);
+            phaseTotal += stats.phaseNanos(phase);
+        }
+        Assert.assertEquals(phaseTotal, stats.totalNanos());
+    }
+
+    @Test
+    public void parallelRegionsTest() {
+        World world = new World(300, 200);
+        world.setRoomPlacement(World.RoomPlacement.PARALLEL_REGIONS);
+        world.setHallwayRouting(World.HallwayRouting.PARALLEL);
+        world.randWorld(7);
+        GenerationStats stats = world.lastGenerationStats();
+        Assert.assertEquals(world.rooms().size(), stats.roomCount());
+        Assert.assertEquals(stats.roomAttempts() - stats.roomCount(), stats.rejectedRooms());
+        Assert.assertTrue(stats.expandedCount() > 0);
+        Assert.assertEquals(0, stats.failedTraces());
+        world.randWorld(8);
+        Assert.assertEquals(8, world.lastGenerationStats().seed());
+    }
+}
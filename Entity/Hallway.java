@@ -1,11 +1,13 @@
 package Entity;
 
+import Core.GridPathFinder;
 import Core.PointUtils;
 import TileEngine.TETile;
+import TileEngine.TileGrid;
+import TileEngine.TilePalette;
 
 import java.awt.*;
 import java.io.Serializable;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -49,47 +51,74 @@ public class Hallway implements Serializable {
         if (tiles[0].length == 0) {
             return;
         }
-        int minX = 0;
-        int maxX = tiles.length - 1;
-        int minY = 0;
-        int maxY = tiles[0].length - 1;
-        if (!PointUtils.inBoundary(from, minX, minY, maxX, maxY)) {
+        TileGrid grid = TileGrid.of(tiles, blockingPalette(blocks));
+        fill(grid);
+        grid.copyTo(tiles);
+    }
+
+    /**
+     * Fill the grid with tiles of this hallway, avoiding blocking cells of grid.
+     * @param grid the target to fill with.
+     */
+    public void fill(TileGrid grid) {
+        if (grid == null) {
+            throw new IllegalArgumentException("Cannot add tiles of hallway to null grid.");
+        }
+        if (!grid.inBoundary(from.x, from.y) || !grid.inBoundary(to.x, to.y)) {
             return;
         }
-        if (!PointUtils.inBoundary(to, minX, minY, maxX, maxY)) {
+        GridPathFinder pathFinder = PointUtils.pathFinder(0, 0, grid.width() - 1, grid.height() - 1);
+        pathFinder.setBlocks(grid.blockingMask());
+        List<Point> trace = pathFinder.trace(from, to);
+        if (trace == null) {
             return;
         }
-        HashSet<Point> blockedPosSet = new HashSet<>();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                TETile tile = tiles[x][y];
-                if (!blocks.contains(tile)) {
-                    continue;
-                }
-                Point blockPos = new Point(x, y);
-                blockedPosSet.add(blockPos);
+        fillFloor(grid, trace, floorTile);
+        fillWall(grid, trace, floorTile, wallTile);
+    }
+
+    /**
+     * Palette whose blocking tiles are blocks.
+     */
+    static TilePalette blockingPalette(Set<TETile> blocks) {
+        TilePalette palette = new TilePalette();
+        if (blocks != null) {
+            for (TETile block: blocks) {
+                palette.setBlocking(block, true);
             }
         }
-        List<Point> trace = PointUtils.shortestTrace(from, to, blockedPosSet, minX, minY, maxX, maxY);
-        // Fill floor of hallway.
+        return palette;
+    }
+
+    /**
+     * Fill floor tile on every point of trace.
+     */
+    static void fillFloor(TileGrid grid, List<Point> trace, TETile floorTile) {
+        short floorId = grid.palette().idOf(floorTile);
         for (Point tracePos: trace) {
-            tiles[tracePos.x][tracePos.y] = floorTile;
+            grid.setId(tracePos.x, tracePos.y, floorId);
         }
-        // Fill wall of hallway.
+    }
+
+    /**
+     * Fill wall tile around trace, except on blocking cells and floors.
+     */
+    static void fillWall(TileGrid grid, List<Point> trace, TETile floorTile, TETile wallTile) {
+        short floorId = grid.palette().idOf(floorTile);
+        short wallId = grid.palette().idOf(wallTile);
         for (Point tracePos: trace) {
             Point[] surroundPosList = PointUtils.surroundNeighbors(tracePos);
             for (Point surroundPos: surroundPosList) {
-                if (!PointUtils.inBoundary(surroundPos, minX, minY, maxX, maxY)) {
+                if (!grid.inBoundary(surroundPos.x, surroundPos.y)) {
                     continue;
                 }
-                if (blockedPosSet.contains(surroundPos)) {
+                if (grid.isBlocking(surroundPos.x, surroundPos.y)) {
                     continue;
                 }
-                TETile surroundPosTile = tiles[surroundPos.x][surroundPos.y];
-                if (surroundPosTile.equals(floorTile)) {
+                if (grid.idAt(surroundPos.x, surroundPos.y) == floorId) {
                     continue;
                 }
-                tiles[surroundPos.x][surroundPos.y] = wallTile;
+                grid.setId(surroundPos.x, surroundPos.y, wallId);
             }
         }
     }
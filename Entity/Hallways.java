@@ -1,13 +1,74 @@
 package Entity;
 
+import Core.GridHeuristic;
+import Core.GridMask;
+import Core.GridPathFinder;
 import Core.PointUtils;
 import TileEngine.TETile;
+import TileEngine.TileGrid;
 
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class Hallways extends HashSet<Hallway> {
+    private GridPathFinder.SearchMode searchMode = GridPathFinder.SearchMode.A_STAR; // Algorithm tracing hallways.
+    private GridHeuristic heuristic = GridHeuristic.Standard.MANHATTAN; // Heuristic tracing hallways.
+    private long expandedCount; // Cells expanded by the last fill.
+    private long maxExpandedCount; // Most cells expanded tracing one hallway in the last fill.
+    private int failedTraceCount; // Hallways not traced in the last fill.
+
+    /**
+     * Algorithm tracing hallways, A* by default.
+     */
+    public void setSearchMode(GridPathFinder.SearchMode searchMode) {
+        if (searchMode == null) {
+            throw new IllegalArgumentException("Cannot trace hallways with null search mode.");
+        }
+        this.searchMode = searchMode;
+    }
+
+    public GridPathFinder.SearchMode searchMode() {
+        return searchMode;
+    }
+
+    public GridHeuristic heuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Heuristic tracing hallways, Manhattan distance by default.
+     */
+    public void setHeuristic(GridHeuristic heuristic) {
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Cannot trace hallways with null heuristic.");
+        }
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Count of cells expanded by path finders in the last fill.
+     */
+    public long expandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Most cells expanded by path finder tracing one hallway in the last fill.
+     */
+    public long maxExpandedCount() {
+        return maxExpandedCount;
+    }
+
+    /**
+     * Count of hallways which are out of boundary or cannot be traced in the last fill.
+     */
+    public int failedTraceCount() {
+        return failedTraceCount;
+    }
+
     /**
      * Add new hallway.
      * @param hallWay the hallway prepared for added.
@@ -20,6 +81,11 @@ public class Hallways extends HashSet<Hallway> {
         return super.add(hallWay);
     }
 
+    /**
+     * Hallway count traced by one path finder at a time, the blocked cells are copied into the finder per batch.
+     */
+    private static final int TRACE_BATCH_SIZE = 8;
+
     /**
      * Fill the tiles with tiles of all hallways.
      * @param tiles the target to fill with.
@@ -28,77 +94,160 @@ public class Hallways extends HashSet<Hallway> {
      * @param wallTile tile for filling the wall of hallway.
      */
     public void fill(TETile[][] tiles, Set<TETile> blocks, TETile floorTile, TETile wallTile) {
+        fill(tiles, blocks, floorTile, wallTile, null);
+    }
+
+    /**
+     * Fill the tiles with tiles of all hallways, tracing hallways on pool.
+     * @param tiles the target to fill with.
+     * @param blocks the set of tiles, when encounter these tiles, ignore to fill them.
+     * @param floorTile tile for filling the floor of hallway.
+     * @param wallTile tile for filling the wall of hallway.
+     * @param pool pool tracing hallways, null for tracing on the calling thread.
+     */
+    public void fill(TETile[][] tiles, Set<TETile> blocks, TETile floorTile, TETile wallTile, ForkJoinPool pool) {
         if (tiles == null) {
             throw new IllegalArgumentException("Cannot add tiles of hallways to null tiles.");
         }
+        if (tiles.length == 0) {
+            return;
+        }
+        if (tiles[0].length == 0) {
+            return;
+        }
+        TileGrid grid = TileGrid.of(tiles, Hallway.blockingPalette(blocks));
+        fill(grid, floorTile, wallTile, pool);
+        grid.copyTo(tiles);
+    }
+
+    /**
+     * Fill the grid with tiles of all hallways avoiding blocking cells of grid, tracing hallways on pool.
+     * Traces only read the blocking mask of grid, so they are independent of each other, and the grid is filled
+     * after all traces are found in the iteration order of hallways, the result is the same as tracing sequentially.
+     * @param grid the target to fill with.
+     * @param floorTile tile for filling the floor of hallway.
+     * @param wallTile tile for filling the wall of hallway.
+     * @param pool pool tracing hallways, null for tracing on the calling thread.
+     */
+    public void fill(TileGrid grid, TETile floorTile, TETile wallTile, ForkJoinPool pool) {
+        if (grid == null) {
+            throw new IllegalArgumentException("Cannot add tiles of hallways to null grid.");
+        }
         if (floorTile == null) {
             throw new IllegalArgumentException("Cannot fill null floor tile on tiles.");
         }
         if (wallTile == null) {
             throw new IllegalArgumentException("Cannot fill null wall tile on tiles.");
         }
-        if (tiles.length == 0) {
-            return;
+        List<Hallway> hallwayList = new ArrayList<>(this);
+        List<List<Point>> traces = traceAll(hallwayList, grid.blockingMask(), pool);
+        List<List<Point>> foundTraces = new ArrayList<>(traces.size());
+        failedTraceCount = 0;
+        for (int i = 0; i < traces.size(); i++) {
+            if (traces.get(i) == null) {
+                // Reported by failedTraceCount, e.g. through GenerationStats.
+                failedTraceCount = failedTraceCount + 1;
+                continue;
+            }
+            foundTraces.add(traces.get(i));
         }
-        if (tiles[0].length == 0) {
-            return;
+        // Fill floor of hallway.
+        for (List<Point> trace: foundTraces) {
+            Hallway.fillFloor(grid, trace, floorTile);
         }
-        int minX = 0;
-        int maxX = tiles.length - 1;
-        int minY = 0;
-        int maxY = tiles[0].length - 1;
-        HashSet<Point> blockedPosSet = new HashSet<>();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                TETile tile = tiles[x][y];
-                if (!blocks.contains(tile)) {
-                    continue;
-                }
-                Point blockPos = new Point(x, y);
-                blockedPosSet.add(blockPos);
-            }
+        // Fill wall of hallway.
+        for (List<Point> trace: foundTraces) {
+            Hallway.fillWall(grid, trace, floorTile, wallTile);
         }
-        HashMap<Hallway, List<Point>> hallwayTraces = new HashMap<>();
-        for (Hallway hallWay: this) {
-            if (!PointUtils.inBoundary(hallWay.from, minX, minY, maxX, maxY)) {
-                continue;
+    }
+
+    /**
+     * Trace every hallway of hallwayList, counting expanded cells into expandedCount and maxExpandedCount.
+     * @return trace of each hallway by index, null if the hallway is out of boundary or cannot be traced.
+     */
+    private List<List<Point>> traceAll(List<Hallway> hallwayList, GridMask blocks, ForkJoinPool pool) {
+        // Pre-sized, so that workers only set their own indices without resizing the list.
+        List<List<Point>> traces = new ArrayList<>(Collections.nCopies(hallwayList.size(), null));
+        int[] expandedCounts = new int[traces.size()];
+        if (pool == null) {
+            for (int start = 0; start < traces.size(); start += TRACE_BATCH_SIZE) {
+                traceBatch(hallwayList, blocks, searchMode, heuristic, traces, expandedCounts, start,
+                        Math.min(traces.size(), start + TRACE_BATCH_SIZE));
             }
-            if (!PointUtils.inBoundary(hallWay.to, minX, minY, maxX, maxY)) {
+        } else {
+            pool.invoke(new TraceTask(hallwayList, blocks, searchMode, heuristic, traces, expandedCounts, 0,
+                    traces.size()));
+        }
+        expandedCount = 0;
+        maxExpandedCount = 0;
+        for (int count: expandedCounts) {
+            expandedCount += count;
+            maxExpandedCount = Math.max(maxExpandedCount, count);
+        }
+        return traces;
+    }
+
+    /**
+     * Trace hallways from index start to end (exclusive) by the path finder of current thread,
+     * writing the trace and expanded cell count of each hallway by index.
+     */
+    private static void traceBatch(List<Hallway> hallwayList, GridMask blocks, GridPathFinder.SearchMode searchMode,
+                                   GridHeuristic heuristic, List<List<Point>> traces, int[] expandedCounts,
+                                   int start, int end) {
+        int maxX = blocks.width() - 1;
+        int maxY = blocks.height() - 1;
+        GridPathFinder pathFinder = PointUtils.pathFinder(0, 0, maxX, maxY);
+        pathFinder.setBlocks(blocks);
+        pathFinder.setSearchMode(searchMode);
+        pathFinder.setHeuristic(heuristic);
+        for (int i = start; i < end; i++) {
+            Hallway hallWay = hallwayList.get(i);
+            if (!PointUtils.inBoundary(hallWay.from, 0, 0, maxX, maxY)) {
                 continue;
             }
-            List<Point> trace = PointUtils.shortestTrace(hallWay.from, hallWay.to, blockedPosSet, minX, minY, maxX, maxY);
-            if (trace == null) {
-                System.out.println(TETile.toString(tiles));
+            if (!PointUtils.inBoundary(hallWay.to, 0, 0, maxX, maxY)) {
                 continue;
             }
-            hallwayTraces.put(hallWay, trace);
+            traces.set(i, pathFinder.trace(hallWay.from, hallWay.to));
+            expandedCounts[i] = pathFinder.expandedCount();
         }
-        // Fill floor of hallway.
-        for (Hallway hallWay: hallwayTraces.keySet()) {
-            List<Point> trace = hallwayTraces.get(hallWay);
-            for (Point tracePos: trace) {
-                tiles[tracePos.x][tracePos.y] = floorTile;
-            }
+    }
+
+    /**
+     * Traces a range of hallways, splitting it until one batch is left.
+     * Each worker traces with its own path finder, and writes only to its own indices of traces and expandedCounts.
+     */
+    private static class TraceTask extends RecursiveAction {
+        private final List<Hallway> hallwayList;
+        private final GridMask blocks; // Blocked cells, only read by tasks.
+        private final GridPathFinder.SearchMode searchMode;
+        private final GridHeuristic heuristic;
+        private final List<List<Point>> traces;
+        private final int[] expandedCounts; // Expanded cell count of each hallway.
+        private final int start; // First hallway index to trace.
+        private final int end; // Hallway index after the last one to trace.
+
+        TraceTask(List<Hallway> hallwayList, GridMask blocks, GridPathFinder.SearchMode searchMode,
+                  GridHeuristic heuristic, List<List<Point>> traces, int[] expandedCounts, int start, int end) {
+            this.hallwayList = hallwayList;
+            this.blocks = blocks;
+            this.searchMode = searchMode;
+            this.heuristic = heuristic;
+            this.traces = traces;
+            this.expandedCounts = expandedCounts;
+            this.start = start;
+            this.end = end;
         }
-        // Fill wall of hallway.
-        for (Hallway hallWay: hallwayTraces.keySet()) {
-            List<Point> trace = hallwayTraces.get(hallWay);
-            for (Point tracePos: trace) {
-                Point[] surroundPosList = PointUtils.surroundNeighbors(tracePos);
-                for (Point surroundPos: surroundPosList) {
-                    if (!PointUtils.inBoundary(surroundPos, minX, minY, maxX, maxY)) {
-                        continue;
-                    }
-                    if (blockedPosSet.contains(surroundPos)) {
-                        continue;
-                    }
-                    TETile surroundPosTile = tiles[surroundPos.x][surroundPos.y];
-                    if (surroundPosTile.equals(floorTile)) {
-                        continue;
-                    }
-                    tiles[surroundPos.x][surroundPos.y] = wallTile;
-                }
+
+        @Override
+        protected void compute() {
+            if (end - start <= TRACE_BATCH_SIZE) {
+                traceBatch(hallwayList, blocks, searchMode, heuristic, traces, expandedCounts, start, end);
+                return;
             }
+            int mid = (start + end) >>> 1;
+            invokeAll(new TraceTask(hallwayList, blocks, searchMode, heuristic, traces, expandedCounts, start, mid),
+                    new TraceTask(hallwayList, blocks, searchMode, heuristic, traces, expandedCounts, mid, end));
         }
     }
 }
@@ -0,0 +1,52 @@
+package Entity;
+
+import TileEngine.TETile;
+import TileEngine.Tileset;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+public class HallwaysTest {
+    @Test
+    public void parallelFillTest() {
+        final long SEED = 5197880843569031643L;
+        World world = new World(160, 120);
+        world.randWorld(SEED);
+        World parallelWorld = new World(160, 120);
+        parallelWorld.setHallwayRouting(World.HallwayRouting.PARALLEL);
+        parallelWorld.randWorld(SEED);
+        Assert.assertEquals(TETile.toString(world.tiles()), TETile.toString(parallelWorld.tiles()));
+    }
+
+    @Test
+    public void sameForThreadCountTest() {
+        World world = new World(120, 80);
+        world.randWorld(42);
+        Hallways hallways = world.hallways();
+        Assert.assertFalse(hallways.isEmpty());
+        RectRooms rooms = world.rooms();
+        TETile[][] tiles = new TETile[120][80];
+        TETile[][] otherTiles = new TETile[120][80];
+        for (int x = 0; x < 120; x++) {
+            for (int y = 0; y < 80; y++) {
+                tiles[x][y] = Tileset.NOTHING;
+                otherTiles[x][y] = Tileset.NOTHING;
+            }
+        }
+        rooms.fill(tiles);
+        rooms.fill(otherTiles);
+        final Set<TETile> BLOCKS = Set.of(Tileset.WALL, Tileset.LOCKED_DOOR);
+        ForkJoinPool singlePool = new ForkJoinPool(1);
+        ForkJoinPool multiPool = new ForkJoinPool(4);
+        try {
+            hallways.fill(tiles, BLOCKS, Tileset.FLOOR, Tileset.WALL, singlePool);
+            hallways.fill(otherTiles, BLOCKS, Tileset.FLOOR, Tileset.WALL, multiPool);
+        } finally {
+            singlePool.shutdown();
+            multiPool.shutdown();
+        }
+        Assert.assertEquals(TETile.toString(tiles), TETile.toString(otherTiles));
+    }
+}
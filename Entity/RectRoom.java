@@ -2,8 +2,8 @@ package Entity;
 
 import Core.PointUtils;
 import Shape.Rectangle;
-import Shape.Relation;
 import TileEngine.TETile;
+import TileEngine.TileGrid;
 import TileEngine.TileUtils;
 
 import java.awt.*;
@@ -96,7 +96,37 @@ public class RectRoom implements Serializable {
         if (other == null) {
             throw new IllegalArgumentException("Cannot check overlap with null room.");
         }
-        return outerShape().relationTo(other.outerShape()) != Relation.DISJOINT;
+        // The same as outerShape().relationTo(other.outerShape()) != Relation.DISJOINT without creating shapes.
+        return !(outerMaxX() < other.outerMinX() || other.outerMaxX() < outerMinX()
+                || outerMaxY() < other.outerMinY() || other.outerMaxY() < outerMinY());
+    }
+
+    /**
+     * Left x of boundary of outer shape.
+     */
+    public int outerMinX() {
+        return x - 1;
+    }
+
+    /**
+     * Bottom y of boundary of outer shape.
+     */
+    public int outerMinY() {
+        return y - 1;
+    }
+
+    /**
+     * Right x of boundary of outer shape.
+     */
+    public int outerMaxX() {
+        return x + width + 1;
+    }
+
+    /**
+     * Top y of boundary of outer shape.
+     */
+    public int outerMaxY() {
+        return y + height + 1;
     }
 
     /**
@@ -134,6 +164,33 @@ public class RectRoom implements Serializable {
         }
     }
 
+    /**
+     * Fill the grid with tiles of this room.
+     * @param grid the target to fill with.
+     */
+    public void fill(TileGrid grid) {
+        if (grid == null) {
+            throw new IllegalArgumentException("Cannot add tiles of room to null grid.");
+        }
+        // Fill floor tiles.
+        for (int floorX = x; floorX <= x + width - 1; floorX++) {
+            TileUtils.fillCol(grid, floorTile, floorX, y, y + height - 1);
+        }
+        // Fill wall tiles.
+        int wallTopY = y + height;
+        int wallBottomY = y - 1;
+        int wallLeftX = x - 1;
+        int wallRightX = x + width;
+        TileUtils.fillRow(grid, wallTile, wallTopY, wallLeftX, wallRightX);
+        TileUtils.fillRow(grid, wallTile, wallBottomY, wallLeftX, wallRightX);
+        TileUtils.fillCol(grid, wallTile, wallLeftX, wallBottomY, wallTopY);
+        TileUtils.fillCol(grid, wallTile, wallRightX, wallBottomY, wallTopY);
+        // Fill doors.
+        for (Door door: doors) {
+            door.fill(grid);
+        }
+    }
+
     /**
      * Check is the given coordinate at a valid door position(this is on the wall)(not including corners of outer shape of room).
      * @param x x coordinate of door.
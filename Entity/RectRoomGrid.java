@@ -0,0 +1,167 @@
+package Entity;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Uniform grid of buckets indexing rectangle areas by int id.
+ * An area is registered to every bucket it covers, so querying an area only touches ids registered
+ * to buckets the queried area covers. The same id may be visited more than once by a query.
+ */
+public class RectRoomGrid implements Serializable {
+    public static final int DEFAULT_BUCKET_SIZE = 32;
+    private final int bucketSize; // Side length of square bucket in tiles.
+    private final HashMap<Long, Bucket> buckets;
+    // Bucket coordinate range of all registered areas.
+    private int minBucketX;
+    private int minBucketY;
+    private int maxBucketX;
+    private int maxBucketY;
+
+    /**
+     * Ids registered to a single bucket.
+     */
+    private static class Bucket implements Serializable {
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            size++;
+        }
+    }
+
+    /**
+     * Visitor of ids found by query.
+     */
+    public interface IdVisitor {
+        void visit(int id);
+    }
+
+    public RectRoomGrid() {
+        this(DEFAULT_BUCKET_SIZE);
+    }
+
+    public RectRoomGrid(int bucketSize) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("Bucket size must be positive, bucketSize = " + bucketSize);
+        }
+        this.bucketSize = bucketSize;
+        this.buckets = new HashMap<>();
+        clear();
+    }
+
+    public int bucketSize() {
+        return bucketSize;
+    }
+
+    /**
+     * Bucket coordinate containing tile coordinate.
+     */
+    public int bucketOf(int coordinate) {
+        return Math.floorDiv(coordinate, bucketSize);
+    }
+
+    private static long bucketKey(int bucketX, int bucketY) {
+        return ((long) bucketX << 32) | (bucketY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Whether there is no registered area.
+     */
+    public boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    /**
+     * Register area from (minX, minY) to (maxX, maxY) inclusively with id.
+     */
+    public void insert(int id, int minX, int minY, int maxX, int maxY) {
+        int fromBucketX = bucketOf(minX);
+        int toBucketX = bucketOf(maxX);
+        int fromBucketY = bucketOf(minY);
+        int toBucketY = bucketOf(maxY);
+        for (int bucketX = fromBucketX; bucketX <= toBucketX; bucketX++) {
+            for (int bucketY = fromBucketY; bucketY <= toBucketY; bucketY++) {
+                buckets.computeIfAbsent(bucketKey(bucketX, bucketY), key -> new Bucket()).add(id);
+            }
+        }
+        minBucketX = Math.min(minBucketX, fromBucketX);
+        minBucketY = Math.min(minBucketY, fromBucketY);
+        maxBucketX = Math.max(maxBucketX, toBucketX);
+        maxBucketY = Math.max(maxBucketY, toBucketY);
+    }
+
+    /**
+     * Visit ids registered to buckets covered by area from (minX, minY) to (maxX, maxY) inclusively.
+     */
+    public void query(int minX, int minY, int maxX, int maxY, IdVisitor visitor) {
+        queryBuckets(bucketOf(minX), bucketOf(minY), bucketOf(maxX), bucketOf(maxY), visitor);
+    }
+
+    /**
+     * Visit ids registered to buckets from (fromBucketX, fromBucketY) to (toBucketX, toBucketY) inclusively.
+     */
+    public void queryBuckets(int fromBucketX, int fromBucketY, int toBucketX, int toBucketY, IdVisitor visitor) {
+        fromBucketX = Math.max(fromBucketX, minBucketX);
+        fromBucketY = Math.max(fromBucketY, minBucketY);
+        toBucketX = Math.min(toBucketX, maxBucketX);
+        toBucketY = Math.min(toBucketY, maxBucketY);
+        for (int bucketX = fromBucketX; bucketX <= toBucketX; bucketX++) {
+            for (int bucketY = fromBucketY; bucketY <= toBucketY; bucketY++) {
+                visitBucket(bucketX, bucketY, visitor);
+            }
+        }
+    }
+
+    /**
+     * Visit ids registered to the ring of buckets which are exactly ring buckets away from
+     * buckets from (fromBucketX, fromBucketY) to (toBucketX, toBucketY).
+     * @return False, if the ring lies entirely outside of all registered areas, querying farther rings is useless.
+     */
+    public boolean queryRing(int fromBucketX, int fromBucketY, int toBucketX, int toBucketY, int ring, IdVisitor visitor) {
+        if (ring == 0) {
+            queryBuckets(fromBucketX, fromBucketY, toBucketX, toBucketY, visitor);
+            return true;
+        }
+        int ringMinX = fromBucketX - ring;
+        int ringMinY = fromBucketY - ring;
+        int ringMaxX = toBucketX + ring;
+        int ringMaxY = toBucketY + ring;
+        if (ringMinX < minBucketX && ringMinY < minBucketY && maxBucketX < ringMaxX && maxBucketY < ringMaxY) {
+            return false;
+        }
+        // Bottom and top rows.
+        queryBuckets(ringMinX, ringMinY, ringMaxX, ringMinY, visitor);
+        queryBuckets(ringMinX, ringMaxY, ringMaxX, ringMaxY, visitor);
+        // Left and right columns without corners.
+        queryBuckets(ringMinX, ringMinY + 1, ringMinX, ringMaxY - 1, visitor);
+        queryBuckets(ringMaxX, ringMinY + 1, ringMaxX, ringMaxY - 1, visitor);
+        return true;
+    }
+
+    private void visitBucket(int bucketX, int bucketY, IdVisitor visitor) {
+        Bucket bucket = buckets.get(bucketKey(bucketX, bucketY));
+        if (bucket == null) {
+            return;
+        }
+        for (int i = 0; i < bucket.size; i++) {
+            visitor.visit(bucket.ids[i]);
+        }
+    }
+
+    /**
+     * Remove all registered areas.
+     */
+    public void clear() {
+        buckets.clear();
+        minBucketX = Integer.MAX_VALUE;
+        minBucketY = Integer.MAX_VALUE;
+        maxBucketX = Integer.MIN_VALUE;
+        maxBucketY = Integer.MIN_VALUE;
+    }
+}
@@ -1,16 +1,29 @@
 package Entity;
 
 import TileEngine.TETile;
+import TileEngine.TileGrid;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 
-public class RectRooms extends LinkedList<RectRoom> {
+public class RectRooms extends ArrayList<RectRoom> {
     private int innerArea; // total inner area of all rooms.
     private int wallArea; // total wall area of all rooms.
+    private final RectRoomGrid roomGrid; // Spatial index of outer shapes of rooms, by index of room in this list.
+    // Scratch state of queries on roomGrid.
+    private transient RectRoom queryRoom;
+    private transient boolean queryOverlapped;
+    private transient int closestIdx;
+    private transient double closestDistance;
+    private transient int excludedIdx; // Index of room skipped by nearest search.
+    private transient int nearestCount; // Count of nearest rooms found.
+    private transient int[] nearestIdx; // Indices of nearest rooms, ordered by distance then index.
+    private transient double[] nearestDistance; // Distances of nearest rooms.
 
     public RectRooms() {
         this.innerArea = 0;
         this.wallArea = 0;
+        this.roomGrid = new RectRoomGrid();
     }
 
     /**
@@ -22,16 +35,37 @@ public class RectRooms extends LinkedList<RectRoom> {
         if (newRoom == null) {
             return false;
         }
-        for (RectRoom room: this) {
-            if (room.overlapWith(newRoom)) {
-                return false;
-            }
+        if (overlapWith(newRoom)) {
+            return false;
         }
         this.innerArea = this.innerArea + newRoom.innerArea();
         this.wallArea = this.wallArea + newRoom.wallArea();
+        roomGrid.insert(size(), newRoom.outerMinX(), newRoom.outerMinY(), newRoom.outerMaxX(), newRoom.outerMaxY());
         return super.add(newRoom);
     }
 
+    /**
+     * Whether the room overlaps with any room of this list, only checking rooms near the room.
+     * @param room the room to check.
+     * @return True, if the room overlaps with any room, else false.
+     */
+    public boolean overlapWith(RectRoom room) {
+        if (room == null) {
+            throw new IllegalArgumentException("Cannot check overlap with null room.");
+        }
+        queryRoom = room;
+        queryOverlapped = false;
+        roomGrid.query(room.outerMinX(), room.outerMinY(), room.outerMaxX(), room.outerMaxY(), this::visitOverlap);
+        queryRoom = null;
+        return queryOverlapped;
+    }
+
+    private void visitOverlap(int roomIdx) {
+        if (!queryOverlapped && get(roomIdx).overlapWith(queryRoom)) {
+            queryOverlapped = true;
+        }
+    }
+
     /**
      * Total inner area of all rooms.
      */
@@ -60,6 +94,7 @@ public class RectRooms extends LinkedList<RectRoom> {
         super.clear();
         this.innerArea = 0;
         this.wallArea = 0;
+        this.roomGrid.clear();
     }
 
     /**
@@ -85,20 +120,127 @@ public class RectRooms extends LinkedList<RectRoom> {
     }
 
     /**
-     * Find the closest room to query room.
+     * Fill the grid with tiles of all rooms.
+     * @param grid the target to fill with.
+     */
+    public void fill(TileGrid grid) {
+        if (grid == null) {
+            throw new IllegalArgumentException("Cannot add tiles of all rooms to null grid.");
+        }
+        for (RectRoom room: this) {
+            room.fill(grid);
+        }
+        for (RectRoom room: this) {
+            room.fill(grid);
+        }
+    }
+
+    /**
+     * Find the closest room to query room, searching buckets of room grid ring by ring outward
+     * until no farther room can be closer than the closest found room.
+     * Ties are broken by the order of adding, the same as scanning all rooms in order.
      * @param room the query room.
      */
     public RectRoom closestTo(RectRoom room) {
-        RectRoom closetRoom = null;
-        double closetDistance = Integer.MAX_VALUE;
-        for (RectRoom otherRoom: this) {
-            double distance = otherRoom.outerShape().distanceTo(room.outerShape());
-            if (distance < closetDistance) {
-                closetRoom = otherRoom;
-                closetDistance = distance;
+        if (room == null) {
+            throw new IllegalArgumentException("Cannot find closest room to null room.");
+        }
+        queryRoom = room;
+        closestIdx = -1;
+        closestDistance = Integer.MAX_VALUE;
+        searchRings(room, this::visitClosest, () -> closestIdx >= 0 ? closestDistance : Double.MAX_VALUE);
+        queryRoom = null;
+        return closestIdx < 0 ? null : get(closestIdx);
+    }
+
+    private void visitClosest(int roomIdx) {
+        double distance = get(roomIdx).outerShape().distanceTo(queryRoom.outerShape());
+        if (distance < closestDistance || (distance == closestDistance && roomIdx < closestIdx)) {
+            closestIdx = roomIdx;
+            closestDistance = distance;
+        }
+    }
+
+    /**
+     * Visitor of ring search which reports the distance no farther room can be closer than.
+     */
+    private interface SearchBound {
+        double distance();
+    }
+
+    /**
+     * Visit rooms in buckets of room grid ring by ring outward from the room,
+     * until rooms in farther rings cannot be closer than the bound.
+     */
+    private void searchRings(RectRoom room, RectRoomGrid.IdVisitor visitor, SearchBound bound) {
+        int fromBucketX = roomGrid.bucketOf(room.outerMinX());
+        int fromBucketY = roomGrid.bucketOf(room.outerMinY());
+        int toBucketX = roomGrid.bucketOf(room.outerMaxX());
+        int toBucketY = roomGrid.bucketOf(room.outerMaxY());
+        final int DISTANCE_ERROR = 2; // Rectangle.distanceTo rounds centers and half sizes down.
+        for (int ring = 0; ; ring++) {
+            // Rooms first found in this ring are at least (ring - 1) buckets away from the query room.
+            double ringMinDistance = (double) (ring - 1) * roomGrid.bucketSize() - DISTANCE_ERROR;
+            if (bound.distance() < ringMinDistance) {
+                break;
+            }
+            if (!roomGrid.queryRing(fromBucketX, fromBucketY, toBucketX, toBucketY, ring, visitor)) {
+                break;
             }
         }
-        return closetRoom;
     }
 
+    /**
+     * Find at most k rooms closest to the room at index, not including itself.
+     * @param roomIdx index of the query room in this list.
+     * @param k maximum count of rooms to find.
+     * @return indices of the closest rooms, ordered by distance, ties by the order of adding.
+     */
+    public int[] nearestTo(int roomIdx, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Cannot find negative count of nearest rooms, k = " + k);
+        }
+        RectRoom room = get(roomIdx);
+        queryRoom = room;
+        excludedIdx = roomIdx;
+        nearestCount = 0;
+        if (nearestIdx == null || nearestIdx.length < k) {
+            nearestIdx = new int[k];
+            nearestDistance = new double[k];
+        }
+        final int K = k;
+        if (K > 0) {
+            searchRings(room, idx -> visitNearest(idx, K),
+                    () -> nearestCount < K ? Double.MAX_VALUE : nearestDistance[K - 1]);
+        }
+        queryRoom = null;
+        return Arrays.copyOf(nearestIdx, nearestCount);
+    }
+
+    private void visitNearest(int roomIdx, int k) {
+        if (roomIdx == excludedIdx) {
+            return;
+        }
+        double distance = get(roomIdx).outerShape().distanceTo(queryRoom.outerShape());
+        // Insertion sort into nearest rooms, skipping room visited from another bucket before.
+        int insertAt = nearestCount;
+        for (int i = 0; i < nearestCount; i++) {
+            if (nearestIdx[i] == roomIdx) {
+                return;
+            }
+        }
+        while (insertAt > 0 && (distance < nearestDistance[insertAt - 1]
+                || (distance == nearestDistance[insertAt - 1] && roomIdx < nearestIdx[insertAt - 1]))) {
+            insertAt--;
+        }
+        if (insertAt >= k) {
+            return;
+        }
+        int moveCount = Math.min(nearestCount, k - 1) - insertAt;
+        System.arraycopy(nearestIdx, insertAt, nearestIdx, insertAt + 1, moveCount);
+        System.arraycopy(nearestDistance, insertAt, nearestDistance, insertAt + 1, moveCount);
+        nearestIdx[insertAt] = roomIdx;
+        nearestDistance[insertAt] = distance;
+        nearestCount = Math.min(nearestCount + 1, k);
+    }
 }
@@ -0,0 +1,109 @@
+package Entity;
+
+import TileEngine.TETile;
+import TileEngine.Tileset;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class RectRoomsTest {
+    private static final TETile FLOOR = Tileset.FLOOR;
+    private static final TETile WALL = Tileset.WALL;
+
+    private static RectRoom randRoom(Random random, int worldSize) {
+        int width = random.nextInt(20) + 1;
+        int height = random.nextInt(20) + 1;
+        int x = random.nextInt(worldSize) - worldSize / 4;
+        int y = random.nextInt(worldSize) - worldSize / 4;
+        return new RectRoom(x, y, width, height, FLOOR, WALL);
+    }
+
+    @Test
+    public void addTest() {
+        RectRooms rooms = new RectRooms();
+        RectRoom room = new RectRoom(0, 0, 50, 50, FLOOR, WALL);
+        Assert.assertTrue(rooms.add(room));
+        Assert.assertFalse(rooms.add(new RectRoom(25, 25, 50, 50, FLOOR, WALL)));
+        Assert.assertTrue(rooms.add(new RectRoom(53, 53, 50, 50, FLOOR, WALL)));
+        Assert.assertEquals(2, rooms.size());
+        Assert.assertEquals(room, rooms.get(0));
+        Assert.assertEquals(5000, rooms.innerArea());
+        rooms.clear();
+        Assert.assertTrue(rooms.add(new RectRoom(25, 25, 50, 50, FLOOR, WALL)));
+    }
+
+    @Test
+    public void addSameAsScanningTest() {
+        Random random = new Random(4);
+        RectRooms rooms = new RectRooms();
+        List<RectRoom> expectedRooms = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            RectRoom newRoom = randRoom(random, 400);
+            boolean expectedAdded = true;
+            for (RectRoom expectedRoom: expectedRooms) {
+                if (expectedRoom.overlapWith(newRoom)) {
+                    expectedAdded = false;
+                    break;
+                }
+            }
+            if (expectedAdded) {
+                expectedRooms.add(newRoom);
+            }
+            Assert.assertEquals(expectedAdded, rooms.add(newRoom));
+        }
+        Assert.assertEquals(expectedRooms, rooms);
+    }
+
+    @Test
+    public void closestToSameAsScanningTest() {
+        Random random = new Random(5);
+        RectRooms rooms = new RectRooms();
+        for (int i = 0; i < 500; i++) {
+            rooms.add(randRoom(random, 600));
+        }
+        for (int i = 0; i < 500; i++) {
+            RectRoom queryRoom = randRoom(random, 1000);
+            RectRoom expectedRoom = null;
+            double expectedDistance = Integer.MAX_VALUE;
+            for (RectRoom room: rooms) {
+                double distance = room.outerShape().distanceTo(queryRoom.outerShape());
+                if (distance < expectedDistance) {
+                    expectedRoom = room;
+                    expectedDistance = distance;
+                }
+            }
+            Assert.assertSame(expectedRoom, rooms.closestTo(queryRoom));
+        }
+        Assert.assertNull(new RectRooms().closestTo(randRoom(random, 10)));
+    }
+
+    @Test
+    public void nearestToSameAsScanningTest() {
+        final int K = 5;
+        Random random = new Random(6);
+        RectRooms rooms = new RectRooms();
+        for (int i = 0; i < 500; i++) {
+            rooms.add(randRoom(random, 800));
+        }
+        for (int roomIdx = 0; roomIdx < rooms.size(); roomIdx++) {
+            RectRoom room = rooms.get(roomIdx);
+            List<Integer> expectedIndices = new ArrayList<>();
+            for (int otherIdx = 0; otherIdx < rooms.size(); otherIdx++) {
+                if (otherIdx != roomIdx) {
+                    expectedIndices.add(otherIdx);
+                }
+            }
+            // Stable sort keeps the order of adding for rooms in the same distance.
+            expectedIndices.sort((a, b) -> Double.compare(rooms.get(a).outerShape().distanceTo(room.outerShape()),
+                    rooms.get(b).outerShape().distanceTo(room.outerShape())));
+            int[] nearestIndices = rooms.nearestTo(roomIdx, K);
+            Assert.assertEquals(K, nearestIndices.length);
+            for (int i = 0; i < K; i++) {
+                Assert.assertEquals((int) expectedIndices.get(i), nearestIndices[i]);
+            }
+        }
+    }
+}
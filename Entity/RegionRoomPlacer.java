@@ -0,0 +1,154 @@
+package Entity;
+
+import TileEngine.TETile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Places rooms of a world region by region in parallel. The world is partitioned into regions of about
+ * REGION_SIZE x REGION_SIZE, each region gets its own random split from the world random in region order,
+ * and rooms are kept with their outer shapes inside their region, so regions never conflict.
+ * The placed rooms only depend on the world random, not on thread count or scheduling.
+ */
+class RegionRoomPlacer {
+    static final int REGION_SIZE = 128;
+    /**
+     * Smallest region side holding the smallest room, one space surrounded by wall and outer gap.
+     */
+    private static final int MIN_REGION_SIDE = 4;
+    private final TETile floorTile;
+    private final TETile wallTile;
+    private final int[][] regions; // Bounds {minX, minY, maxX, maxY} (exclusive max) of each region.
+    private final SplittableRandom[] regionRandoms; // Random of each region.
+    private final List<List<RectRoom>> regionRooms; // Placed rooms of each region.
+    private final long[] regionAttempts; // Rooms tried to place in each region.
+    private final long[] regionRejections; // Tried rooms overlapping placed rooms in each region.
+
+    private RegionRoomPlacer(int width, int height, SplittableRandom random, TETile floorTile, TETile wallTile) {
+        this.floorTile = floorTile;
+        this.wallTile = wallTile;
+        int regionCountX = Math.max(1, width / REGION_SIZE);
+        int regionCountY = Math.max(1, height / REGION_SIZE);
+        int regionCount = regionCountX * regionCountY;
+        this.regions = new int[regionCount][];
+        this.regionRandoms = new SplittableRandom[regionCount];
+        this.regionRooms = new ArrayList<>(regionCount);
+        this.regionAttempts = new long[regionCount];
+        this.regionRejections = new long[regionCount];
+        for (int regionY = 0; regionY < regionCountY; regionY++) {
+            for (int regionX = 0; regionX < regionCountX; regionX++) {
+                int regionIdx = regionY * regionCountX + regionX;
+                // Split evenly, so that every region is at least REGION_SIZE if the world is.
+                regions[regionIdx] = new int[]{
+                        (int) ((long) regionX * width / regionCountX), (int) ((long) regionY * height / regionCountY),
+                        (int) ((long) (regionX + 1) * width / regionCountX), (int) ((long) (regionY + 1) * height / regionCountY)};
+                regionRandoms[regionIdx] = random.split();
+                regionRooms.add(null);
+            }
+        }
+    }
+
+    /**
+     * Randomly place rooms in world of width x height.
+     * @param random random of the world, split once per region.
+     * @param pool pool running regions.
+     * @return placed rooms, in region order.
+     */
+    static List<RectRoom> place(int width, int height, SplittableRandom random, TETile floorTile, TETile wallTile,
+                           ForkJoinPool pool) {
+        return place(width, height, random, floorTile, wallTile, pool, null);
+    }
+
+    /**
+     * Randomly place rooms in world of width x height, adding attempts and rejected rooms of all regions to stats.
+     * @param random random of the world, split once per region.
+     * @param pool pool running regions.
+     * @param stats stats of the generation, null for not recording.
+     * @return placed rooms, in region order.
+     */
+    static List<RectRoom> place(int width, int height, SplittableRandom random, TETile floorTile, TETile wallTile,
+                           ForkJoinPool pool, GenerationStats stats) {
+        RegionRoomPlacer placer = new RegionRoomPlacer(width, height, random, floorTile, wallTile);
+        pool.invoke(placer.new PlaceTask(0, placer.regions.length));
+        if (stats != null) {
+            for (int regionIdx = 0; regionIdx < placer.regions.length; regionIdx++) {
+                stats.addRoomAttempts(placer.regionAttempts[regionIdx], placer.regionRejections[regionIdx]);
+            }
+        }
+        List<RectRoom> rooms = new ArrayList<>();
+        for (List<RectRoom> placedRooms: placer.regionRooms) {
+            rooms.addAll(placedRooms);
+        }
+        return rooms;
+    }
+
+    /**
+     * Place rooms of regions from fromIdx (inclusive) to toIdx (exclusive), splitting the range until one region.
+     */
+    private class PlaceTask extends RecursiveAction {
+        private final int fromIdx;
+        private final int toIdx;
+
+        PlaceTask(int fromIdx, int toIdx) {
+            this.fromIdx = fromIdx;
+            this.toIdx = toIdx;
+        }
+
+        @Override
+        protected void compute() {
+            if (toIdx - fromIdx == 1) {
+                regionRooms.set(fromIdx, placeInRegion(fromIdx));
+                return;
+            }
+            int middleIdx = (fromIdx + toIdx) >>> 1;
+            invokeAll(new PlaceTask(fromIdx, middleIdx), new PlaceTask(middleIdx, toIdx));
+        }
+    }
+
+    /**
+     * Place rooms in region the same way as World places rooms in the whole world, until half of region is used.
+     */
+    private List<RectRoom> placeInRegion(int regionIdx) {
+        int[] region = regions[regionIdx];
+        SplittableRandom random = regionRandoms[regionIdx];
+        int regionWidth = region[2] - region[0];
+        int regionHeight = region[3] - region[1];
+        if (regionWidth < MIN_REGION_SIDE || regionHeight < MIN_REGION_SIDE) {
+            return new ArrayList<>();
+        }
+        // Outer shape of room spans from x - 1 to x + width + 1.
+        final int MAX_ROOM_WIDTH = Math.min(regionWidth / 3, regionWidth - 3);
+        final int MAX_ROOM_HEIGHT = Math.min(regionHeight / 3, regionHeight - 3);
+        final int REQUIRED_AREA = regionWidth * regionHeight / 2; // 50% of the region.
+        final int MAX_ROOM_COUNT = (regionWidth / 3) * (regionHeight / 3);
+        RectRooms rooms = new RectRooms();
+        int attempts = 0;
+        long totalAttempts = 0;
+        long rejections = 0;
+        while (rooms.totalArea() < REQUIRED_AREA && attempts < MAX_ROOM_COUNT) {
+            totalAttempts = totalAttempts + 1;
+            int roomWidth = random.nextInt(MAX_ROOM_WIDTH) + 1;
+            int roomHeight = random.nextInt(MAX_ROOM_HEIGHT) + 1;
+            int roomMinX = region[0] + 1;
+            int roomMaxX = region[2] - roomWidth - 2;
+            int roomX = random.nextInt(roomMaxX + 1 - roomMinX) + roomMinX;
+            int roomMinY = region[1] + 1;
+            int roomMaxY = region[3] - roomHeight - 2;
+            int roomY = random.nextInt(roomMaxY + 1 - roomMinY) + roomMinY;
+            RectRoom newRoom = new RectRoom(roomX, roomY, roomWidth, roomHeight, floorTile, wallTile);
+            if (rooms.add(newRoom)) {
+                attempts = 1;
+            } else {
+                attempts = attempts + 1;
+                rejections = rejections + 1;
+            }
+        }
+        regionAttempts[regionIdx] = totalAttempts;
+        regionRejections[regionIdx] = rejections;
+        return new ArrayList<>(rooms);
+    }
+}
@@ -0,0 +1,45 @@
+package Entity;
+
+import TileEngine.TETile;
+import TileEngine.Tileset;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class RegionRoomPlacerTest {
+    @Test
+    public void sameForThreadCountTest() {
+        ForkJoinPool singlePool = new ForkJoinPool(1);
+        ForkJoinPool multiPool = new ForkJoinPool(4);
+        try {
+            List<RectRoom> rooms = RegionRoomPlacer.place(300, 200, new SplittableRandom(42),
+                    Tileset.FLOOR, Tileset.WALL, singlePool);
+            List<RectRoom> otherRooms = RegionRoomPlacer.place(300, 200, new SplittableRandom(42),
+                    Tileset.FLOOR, Tileset.WALL, multiPool);
+            Assert.assertFalse(rooms.isEmpty());
+            Assert.assertEquals(rooms, otherRooms);
+            // Rooms of regions never overlap each other.
+            RectRooms addedRooms = new RectRooms();
+            for (RectRoom room: rooms) {
+                Assert.assertTrue(addedRooms.add(room));
+            }
+        } finally {
+            singlePool.shutdown();
+            multiPool.shutdown();
+        }
+    }
+
+    @Test
+    public void parallelWorldTest() {
+        World world = new World(200, 150);
+        world.setRoomPlacement(World.RoomPlacement.PARALLEL_REGIONS);
+        world.randWorld(7);
+        World otherWorld = new World(200, 150);
+        otherWorld.setRoomPlacement(World.RoomPlacement.PARALLEL_REGIONS);
+        otherWorld.randWorld(7);
+        Assert.assertEquals(TETile.toString(world.tiles()), TETile.toString(otherWorld.tiles()));
+    }
+}
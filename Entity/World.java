@@ -1,30 +1,74 @@
 package Entity;
 
+import Core.GridHeuristic;
+import Core.GridPathFinder;
 import PriorityQueue.ArrayHeapMinPQ;
 import Shape.Direction;
 import Shape.Rectangle;
+import TileEngine.DirtyCells;
 import TileEngine.TETile;
+import TileEngine.TileGrid;
+import TileEngine.TilePalette;
 import TileEngine.Tileset;
 
 import java.awt.*;
 import java.io.Serializable;
 import java.util.*;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
 
-public class World implements Serializable {
+public class World implements Serializable, WorldView {
     private final TETile FLOOR_TILE = Tileset.FLOOR;
     private final TETile WALL_TILE = Tileset.WALL;
     private final TETile CLOSED_DOOR_TILE = Tileset.LOCKED_DOOR;
     private final TETile OPENED_DOOR_TILE = Tileset.UNLOCKED_DOOR;
     private final TETile AVATAR_TILE = Tileset.AVATAR;
-    private final TETile GOAL_TILE = new TETile('▒', Color.yellow, Color.black, "goal");
+    private final TETile GOAL_TILE = Tileset.GOAL;
     private final int width; // Width of this world.
     private final int height; // Height of this world.
-    private final TETile[][] tiles; // Tiles constructing this world.
+    private final TilePalette palette; // Distinct tiles of this world, and whether the user can pass them.
+    private final TileGrid tiles; // Tiles constructing this world, stored as tile ids of palette.
     private final Set<TETile> blocks; // Block of tiles that the user cannot pass.
+    private final DirtyCells dirtyCells; // Cells changed since last repaint.
     private final RectRooms rooms; // Rooms in this world.
     private final Hallways hallWays; // Hallways in this world.
     private final Point userPosition; // Position of user in world.
     private final Point goal; // The goal of the world.
+    private ConnectionStrategy connectionStrategy; // How rooms are connected by hallways.
+    private RoomPlacement roomPlacement; // How rooms are placed.
+    private HallwayRouting hallwayRouting; // How hallways are traced.
+    private transient GenerationStats generationStats; // Metrics of the last generation, null before generating.
+
+    /**
+     * Strategies of choosing which rooms are connected by hallways, all of them connect every room.
+     */
+    public enum ConnectionStrategy {
+        /** Each room connects to the closest room not connected yet, O(n^2) distance computations. */
+        NEAREST_REMAINING,
+        /** Minimum spanning tree over the nearest rooms of each room, near O(n log n). */
+        NEAREST_NEIGHBOR_TREE
+    }
+
+    /**
+     * Ways of randomly placing rooms, each of them generates the same world for the same seed.
+     */
+    public enum RoomPlacement {
+        /** Rooms are placed one by one over the whole world by java.util.Random of seed. */
+        SEQUENTIAL,
+        /** Rooms are placed in regions in parallel, by SplittableRandom split from seed in region order. */
+        PARALLEL_REGIONS
+    }
+
+    /**
+     * Ways of tracing hallways, each of them fills the same tiles.
+     */
+    public enum HallwayRouting {
+        /** Hallways are traced one by one on the calling thread. */
+        SEQUENTIAL,
+        /** Hallways are traced on the common fork join pool, each worker with its own path finder. */
+        PARALLEL
+    }
 
     public World (int w, int h) {
         if (w <= 0) {
@@ -35,14 +79,23 @@ public class World implements Serializable {
         }
         this.width = w;
         this.height = h;
-        this.tiles = new TETile[w][h];
+        this.palette = new TilePalette();
         this.blocks = new HashSet<>();
         blocks.add(WALL_TILE);
         blocks.add(CLOSED_DOOR_TILE);
+        for (TETile block: blocks) {
+            palette.setBlocking(block, true);
+        }
+        // Blocking flags are set before the grid, so that its blocking mask is right from the start.
+        this.tiles = new TileGrid(w, h, palette, Tileset.NOTHING);
+        this.dirtyCells = new DirtyCells(w, h);
         this.rooms = new RectRooms();
         this.hallWays = new Hallways();
         this.userPosition = new Point(0, 0);
         this.goal = new Point(0, 0);
+        this.connectionStrategy = ConnectionStrategy.NEAREST_NEIGHBOR_TREE;
+        this.roomPlacement = RoomPlacement.SEQUENTIAL;
+        this.hallwayRouting = HallwayRouting.SEQUENTIAL;
 
         init();
     }
@@ -51,17 +104,14 @@ public class World implements Serializable {
      * Initialize the world, letting all tiles of world to nothing.
      */
     private void init() {
-        for (int x = 0; x < this.width; x++) {
-            for (int y = 0; y < this.height; y++) {
-                this.tiles[x][y] = Tileset.NOTHING;
-            }
-        }
+        tiles.fill(Tileset.NOTHING);
         rooms.clear();
         hallWays.clear();
         userPosition.x = 0;
         userPosition.y = 0;
         goal.x = 0;
         goal.y = 0;
+        dirtyCells.markAll();
     }
 
     /**
@@ -69,42 +119,59 @@ public class World implements Serializable {
      * @param seed seed of randomness.
      */
     private void randRooms(long seed) {
+        randRooms(seed, 1);
+    }
+
+    /**
+     * Randomly generating rooms in the world, keeping inner space of rooms at least margin away from the border.
+     * @param seed seed of randomness.
+     * @param margin distance from the border, at least 1 to keep wall of room in the world.
+     */
+    private void randRooms(long seed, int margin) {
         /* The world cannot contain the smallest room
            which is the room with one space and surrounding by wall. */
-        if (this.width < 3 || this.height < 3) {
+        if (this.width < 2 * margin + 1 || this.height < 2 * margin + 1) {
             return;
         }
         rooms.clear();
-        final int ROOM_MIN_X = 1; // Preventing wall of room exceeding the world.
-        final int ROOM_MIN_Y = 1; // Preventing wall of room exceeding the world.
+        final int ROOM_MIN_X = margin; // Preventing wall of room exceeding the world.
+        final int ROOM_MIN_Y = margin; // Preventing wall of room exceeding the world.
         final int REQUIRED_AREA = this.width * this.height / 2; // 50% of the world.
         final int MAX_ROOM_COUNT = (this.width / 3) * (this.height / 3); // Meaning the world filled with the smallest area room.
         Random random = new Random(seed);
         int attempts = 0;
+        long totalAttempts = 0;
+        long rejections = 0;
         while (rooms.totalArea() < REQUIRED_AREA && attempts < MAX_ROOM_COUNT) {
+            totalAttempts = totalAttempts + 1;
             int roomWidth = random.nextInt(this.width / 3) + 1;
             int roomHeight = random.nextInt(this.height / 3) + 1;
-            int roomMaxX = this.width - roomWidth - 1;
+            int roomMaxX = this.width - roomWidth - margin;
             int roomX = random.nextInt(roomMaxX + 1 - ROOM_MIN_X) + ROOM_MIN_X;
-            int roomMaxY = this.height - roomHeight - 1;
+            int roomMaxY = this.height - roomHeight - margin;
             int roomY = random.nextInt(roomMaxY + 1 - ROOM_MIN_Y) + ROOM_MIN_Y;
             RectRoom newRoom = new RectRoom(roomX, roomY, roomWidth, roomHeight, FLOOR_TILE, WALL_TILE);
             if (rooms.add(newRoom)) {
                 attempts = 1;
             } else {
                 attempts = attempts + 1;
+                rejections = rejections + 1;
             }
         }
+        generationStats.addRoomAttempts(totalAttempts, rejections);
     }
 
     /**
      * Put user at randomly choose room.
      */
     private void randUser(long seed) {
+        randUser(new Random(seed));
+    }
+
+    private void randUser(RandomGenerator random) {
         if (rooms.size() == 0) {
             return;
         }
-        Random random = new Random(seed);
         int randRoomIdx = random.nextInt(rooms.size());
         RectRoom room = rooms.get(randRoomIdx);
         Rectangle innerSpace = room.innerShape();
@@ -118,10 +185,13 @@ public class World implements Serializable {
      * Put gaol at randomly choose room.
      */
     private void randGoal(long seed) {
+        randGoal(new Random((int)Math.sqrt(seed)));
+    }
+
+    private void randGoal(RandomGenerator random) {
         if (rooms.size() == 0) {
             return;
         }
-        Random random = new Random((int)Math.sqrt(seed));
         int randRoomIdx = random.nextInt(rooms.size());
         RectRoom room = rooms.get(randRoomIdx);
         Rectangle innerSpace = room.innerShape();
@@ -135,15 +205,43 @@ public class World implements Serializable {
      * Connect rooms in the world by hallways.
      */
     private void connectRooms() {
+        connectRooms(Collections.emptyList());
+    }
+
+    /**
+     * Connect rooms in the world by hallways, and connect each portal to its closest room.
+     * The connection is measured into generationStats.
+     * @param portals positions which hallways must reach, e.g. hallways from neighbor chunks.
+     */
+    private void connectRooms(List<Point> portals) {
         if (rooms == null) {
             throw new IllegalArgumentException("Cannot connect null rooms.");
         }
+        generationStats.recordRooms(rooms);
+        generationStats.beginPhase(GenerationStats.Phase.CONNECT_ROOMS);
         hallWays.clear();
+        HashMap<RectRoom, HashSet<Door>> roomDoors = new HashMap<>();
+        switch (connectionStrategy) {
+            case NEAREST_REMAINING -> connectNearestRemainingRooms(roomDoors);
+            case NEAREST_NEIGHBOR_TREE -> connectNearestNeighborTree(roomDoors);
+        }
+        connectPortals(portals, roomDoors);
+        // Add door to room.
+        for (RectRoom room: roomDoors.keySet()) {
+            Set<Door> doors = roomDoors.get(room);
+            room.addDoors(doors);
+        }
+        generationStats.endPhase();
+    }
+
+    /**
+     * Connect each room to the closest room of rooms not connected yet, comparing every pair of rooms.
+     */
+    private void connectNearestRemainingRooms(HashMap<RectRoom, HashSet<Door>> roomDoors) {
         ArrayHeapMinPQ<RectRoom> roomsMinPQ = new ArrayHeapMinPQ<RectRoom>();
         for (RectRoom room: rooms) {
             roomsMinPQ.add(room, Double.MAX_VALUE);
         }
-        HashMap<RectRoom, HashSet<Door>> roomDoors = new HashMap<>();
         while (roomsMinPQ.size() > 0) {
             RectRoom myRoom = roomsMinPQ.removeSmallest();
             RectRoom neighborRoom = null;
@@ -161,26 +259,199 @@ public class World implements Serializable {
             if (neighborRoom == null) {
                 continue;
             }
-            Point myDoorPos = myRoom.closestDoorPositionTo(neighborRoom);
-            Door myDoor = new Door(myDoorPos.x, myDoorPos.y, CLOSED_DOOR_TILE, OPENED_DOOR_TILE, true);
-            if (!roomDoors.containsKey(myRoom)) {
-                roomDoors.put(myRoom, new HashSet<>());
+            connectRoomPair(myRoom, neighborRoom, roomDoors);
+        }
+    }
+
+    /**
+     * Connect rooms by minimum spanning tree of the graph linking each room to its nearest rooms,
+     * which are found by the spatial index of rooms. If the graph is not connected,
+     * rebuild it with doubled nearest room count, until the graph becomes the complete graph.
+     */
+    private void connectNearestNeighborTree(HashMap<RectRoom, HashSet<Door>> roomDoors) {
+        final int INITIAL_NEIGHBOR_COUNT = 6;
+        int roomCount = rooms.size();
+        if (roomCount < 2) {
+            return;
+        }
+        int neighborCount = Math.min(INITIAL_NEIGHBOR_COUNT, roomCount - 1);
+        while (true) {
+            // Collect edges from each room to its nearest rooms, from lower to higher index.
+            int edgeCount = 0;
+            int[] edgeFrom = new int[roomCount * neighborCount];
+            int[] edgeTo = new int[roomCount * neighborCount];
+            double[] edgeDistance = new double[roomCount * neighborCount];
+            for (int roomIdx = 0; roomIdx < roomCount; roomIdx++) {
+                for (int neighborIdx: rooms.nearestTo(roomIdx, neighborCount)) {
+                    edgeFrom[edgeCount] = Math.min(roomIdx, neighborIdx);
+                    edgeTo[edgeCount] = Math.max(roomIdx, neighborIdx);
+                    edgeDistance[edgeCount] = rooms.get(roomIdx).outerShape().distanceTo(rooms.get(neighborIdx).outerShape());
+                    edgeCount++;
+                }
+            }
+            Integer[] edgeOrder = new Integer[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                edgeOrder[i] = i;
+            }
+            Arrays.sort(edgeOrder, (a, b) -> {
+                int compare = Double.compare(edgeDistance[a], edgeDistance[b]);
+                if (compare == 0) {
+                    compare = Integer.compare(edgeFrom[a], edgeFrom[b]);
+                }
+                if (compare == 0) {
+                    compare = Integer.compare(edgeTo[a], edgeTo[b]);
+                }
+                return compare;
+            });
+            // Kruskal with union find over sorted edges.
+            int[] componentOf = new int[roomCount];
+            for (int roomIdx = 0; roomIdx < roomCount; roomIdx++) {
+                componentOf[roomIdx] = roomIdx;
+            }
+            ArrayList<int[]> treeEdges = new ArrayList<>();
+            for (int edgeIdx: edgeOrder) {
+                int roomA = edgeFrom[edgeIdx];
+                int roomB = edgeTo[edgeIdx];
+                int componentA = findComponent(componentOf, roomA);
+                int componentB = findComponent(componentOf, roomB);
+                if (componentA == componentB) {
+                    continue;
+                }
+                componentOf[Math.max(componentA, componentB)] = Math.min(componentA, componentB);
+                treeEdges.add(new int[]{roomA, roomB});
+                if (treeEdges.size() == roomCount - 1) {
+                    break;
+                }
+            }
+            if (treeEdges.size() == roomCount - 1 || neighborCount == roomCount - 1) {
+                for (int[] treeEdge: treeEdges) {
+                    connectRoomPair(rooms.get(treeEdge[0]), rooms.get(treeEdge[1]), roomDoors);
+                }
+                return;
+            }
+            neighborCount = Math.min(neighborCount * 2, roomCount - 1);
+        }
+    }
+
+    /**
+     * Root of component of room in union find, halving the path on the way.
+     */
+    private static int findComponent(int[] componentOf, int roomIdx) {
+        while (componentOf[roomIdx] != roomIdx) {
+            componentOf[roomIdx] = componentOf[componentOf[roomIdx]];
+            roomIdx = componentOf[roomIdx];
+        }
+        return roomIdx;
+    }
+
+    /**
+     * Connect each portal to the closest room by hallway, or to the first portal if there is no room.
+     */
+    private void connectPortals(List<Point> portals, HashMap<RectRoom, HashSet<Door>> roomDoors) {
+        for (Point portal: portals) {
+            if (rooms.isEmpty()) {
+                if (!portal.equals(portals.get(0))) {
+                    hallWays.add(new Hallway(new Point(portals.get(0)), new Point(portal), FLOOR_TILE, WALL_TILE));
+                }
+                continue;
+            }
+            RectRoom portalRoom = new RectRoom(portal.x, portal.y, 1, 1, FLOOR_TILE, WALL_TILE);
+            RectRoom closestRoom = null;
+            double closestDistance = Double.MAX_VALUE;
+            for (RectRoom room: rooms) {
+                double distance = room.outerShape().distanceTo(portalRoom.outerShape());
+                if (distance < closestDistance) {
+                    closestRoom = room;
+                    closestDistance = distance;
+                }
             }
-            roomDoors.get(myRoom).add(myDoor);
-            Point neighborDoorPos = neighborRoom.closestDoorPositionTo(myRoom);
-            Door neighborDoor = new Door(neighborDoorPos.x, neighborDoorPos.y, CLOSED_DOOR_TILE, OPENED_DOOR_TILE, true);
-            if (!roomDoors.containsKey(neighborRoom)) {
-                roomDoors.put(neighborRoom, new HashSet<>());
+            Point doorPos = closestRoom.closestDoorPositionTo(portalRoom);
+            Door door = new Door(doorPos.x, doorPos.y, CLOSED_DOOR_TILE, OPENED_DOOR_TILE, true);
+            if (!roomDoors.containsKey(closestRoom)) {
+                roomDoors.put(closestRoom, new HashSet<>());
             }
-            roomDoors.get(neighborRoom).add(neighborDoor);
-            Hallway hallWay = new Hallway(myDoorPos, neighborDoorPos, FLOOR_TILE, WALL_TILE);
-            hallWays.add(hallWay);
+            roomDoors.get(closestRoom).add(door);
+            hallWays.add(new Hallway(new Point(portal), doorPos, FLOOR_TILE, WALL_TILE));
         }
-        // Add door to room.
-        for (RectRoom room: roomDoors.keySet()) {
-            Set<Door> doors = roomDoors.get(room);
-            room.addDoors(doors);
+    }
+
+    /**
+     * Add doors at the closest positions of two rooms, and the hallway between these doors.
+     */
+    private void connectRoomPair(RectRoom myRoom, RectRoom neighborRoom, HashMap<RectRoom, HashSet<Door>> roomDoors) {
+        Point myDoorPos = myRoom.closestDoorPositionTo(neighborRoom);
+        Door myDoor = new Door(myDoorPos.x, myDoorPos.y, CLOSED_DOOR_TILE, OPENED_DOOR_TILE, true);
+        if (!roomDoors.containsKey(myRoom)) {
+            roomDoors.put(myRoom, new HashSet<>());
+        }
+        roomDoors.get(myRoom).add(myDoor);
+        Point neighborDoorPos = neighborRoom.closestDoorPositionTo(myRoom);
+        Door neighborDoor = new Door(neighborDoorPos.x, neighborDoorPos.y, CLOSED_DOOR_TILE, OPENED_DOOR_TILE, true);
+        if (!roomDoors.containsKey(neighborRoom)) {
+            roomDoors.put(neighborRoom, new HashSet<>());
         }
+        roomDoors.get(neighborRoom).add(neighborDoor);
+        Hallway hallWay = new Hallway(myDoorPos, neighborDoorPos, FLOOR_TILE, WALL_TILE);
+        hallWays.add(hallWay);
+    }
+
+    /**
+     * Strategy of connecting rooms.
+     */
+    public void setConnectionStrategy(ConnectionStrategy connectionStrategy) {
+        if (connectionStrategy == null) {
+            throw new IllegalArgumentException("Cannot connect rooms with null strategy.");
+        }
+        this.connectionStrategy = connectionStrategy;
+    }
+
+    /**
+     * Way of placing rooms.
+     */
+    public void setRoomPlacement(RoomPlacement roomPlacement) {
+        if (roomPlacement == null) {
+            throw new IllegalArgumentException("Cannot place rooms with null placement.");
+        }
+        this.roomPlacement = roomPlacement;
+    }
+
+    /**
+     * Way of tracing hallways.
+     */
+    public void setHallwayRouting(HallwayRouting hallwayRouting) {
+        if (hallwayRouting == null) {
+            throw new IllegalArgumentException("Cannot trace hallways with null routing.");
+        }
+        this.hallwayRouting = hallwayRouting;
+    }
+
+    /**
+     * Algorithm tracing hallways, A* by default. Other algorithms may trace hallways through other cells,
+     * so a seed generates a different world.
+     */
+    public void setHallwaySearch(GridPathFinder.SearchMode hallwaySearch) {
+        if (hallwaySearch == null) {
+            throw new IllegalArgumentException("Cannot trace hallways with null search mode.");
+        }
+        hallWays.setSearchMode(hallwaySearch);
+    }
+
+    /**
+     * Heuristic tracing hallways, Manhattan distance by default.
+     */
+    public void setHallwayHeuristic(GridHeuristic hallwayHeuristic) {
+        if (hallwayHeuristic == null) {
+            throw new IllegalArgumentException("Cannot trace hallways with null heuristic.");
+        }
+        hallWays.setHeuristic(hallwayHeuristic);
+    }
+
+    /**
+     * Metrics of the last randWorld or randChunk, e.g. time of each phase and rejected rooms.
+     * @return stats of the last generation, null if the world is not generated.
+     */
+    public GenerationStats lastGenerationStats() {
+        return generationStats;
     }
 
     /**
@@ -189,13 +460,73 @@ public class World implements Serializable {
      */
     public void randWorld(long seed) {
         init();
-        randRooms(seed);
-        connectRooms();
-        randUser(seed);
-        randGoal(seed);
+        generationStats = new GenerationStats(seed);
+        switch (roomPlacement) {
+            case SEQUENTIAL -> {
+                generationStats.beginPhase(GenerationStats.Phase.PLACE_ROOMS);
+                randRooms(seed);
+                generationStats.endPhase();
+                connectRooms();
+                generationStats.beginPhase(GenerationStats.Phase.PLACE_GOAL);
+                randUser(seed);
+                randGoal(seed);
+                generationStats.endPhase();
+            }
+            case PARALLEL_REGIONS -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                generationStats.beginPhase(GenerationStats.Phase.PLACE_ROOMS);
+                // Rooms of different regions never overlap.
+                for (RectRoom room: RegionRoomPlacer.place(width, height, random, FLOOR_TILE, WALL_TILE,
+                        ForkJoinPool.commonPool(), generationStats)) {
+                    rooms.add(room);
+                }
+                generationStats.endPhase();
+                connectRooms();
+                generationStats.beginPhase(GenerationStats.Phase.PLACE_GOAL);
+                randUser(random.split());
+                randGoal(random.split());
+                generationStats.endPhase();
+            }
+        }
+        fillTiles(true);
+    }
+
+    /**
+     * Randomly creating the world as a chunk of ChunkedWorld, without user and goal.
+     * @param seed seed of randomness.
+     * @param margin distance of rooms from the border, leaving the border to portals.
+     * @param portals positions on the border which hallways from neighbor chunks reach.
+     */
+    void randChunk(long seed, int margin, List<Point> portals) {
+        init();
+        generationStats = new GenerationStats(seed);
+        generationStats.beginPhase(GenerationStats.Phase.PLACE_ROOMS);
+        randRooms(seed, margin);
+        generationStats.endPhase();
+        connectRooms(portals);
+        fillTiles(false);
+    }
+
+    /**
+     * Fill rooms and hallways on the tile grid, its blocking mask is updated as rooms and doors are filled,
+     * and hallways are traced around the blocking cells of the mask. Each fill is measured into generationStats.
+     * @param withGoal whether to fill goal.
+     */
+    private void fillTiles(boolean withGoal) {
+        generationStats.beginPhase(GenerationStats.Phase.FILL_ROOMS);
         rooms.fill(tiles);
-        hallWays.fill(tiles, blocks, FLOOR_TILE, WALL_TILE);
-        tiles[goal.x][goal.y] = GOAL_TILE;
+        generationStats.endPhase();
+        generationStats.beginPhase(GenerationStats.Phase.FILL_HALLWAYS);
+        ForkJoinPool pool = hallwayRouting == HallwayRouting.PARALLEL ? ForkJoinPool.commonPool() : null;
+        hallWays.fill(tiles, FLOOR_TILE, WALL_TILE, pool);
+        generationStats.endPhase();
+        generationStats.recordHallways(hallWays);
+        if (withGoal) {
+            generationStats.beginPhase(GenerationStats.Phase.PLACE_GOAL);
+            tiles.setTile(goal.x, goal.y, GOAL_TILE);
+            generationStats.endPhase();
+        }
+        dirtyCells.markAll();
     }
 
     /**
@@ -203,11 +534,8 @@ public class World implements Serializable {
      * @return copied tiles of current world.
      */
     public TETile[][] tiles() {
-        TETile[][] result = new TETile[width][height];
         // Fill world.
-        for (int x = 0; x < width; x++) {
-            if (height >= 0) System.arraycopy(this.tiles[x], 0, result[x], 0, height);
-        }
+        TETile[][] result = tiles.toTiles();
         // Fill user.
         result[userPosition.x][userPosition.y] = AVATAR_TILE;
         // Fill goal
@@ -215,10 +543,44 @@ public class World implements Serializable {
         return result;
     }
 
+    /**
+     * Tile at (x, y) of current world, the same as tiles()[x][y] without copying tiles.
+     * @param x x coordinate.
+     * @param y y coordinate.
+     * @return tile at the position.
+     */
+    @Override
+    public TETile tileAt(int x, int y) {
+        if (x == goal.x && y == goal.y) {
+            return GOAL_TILE;
+        }
+        if (x == userPosition.x && y == userPosition.y) {
+            return AVATAR_TILE;
+        }
+        return tiles.tileAt(x, y);
+    }
+
+    /**
+     * Description of tile at (x, y) of current world, without copying tiles.
+     */
+    @Override
+    public String descriptionAt(int x, int y) {
+        return tileAt(x, y).description();
+    }
+
+    /**
+     * Cells of this world changed since the last time the cells are cleared by the renderer.
+     * @return dirty cells of this world.
+     */
+    public DirtyCells dirtyCells() {
+        return dirtyCells;
+    }
+
     /**
      * Width of this world.
      * @return width of this world in tile count.
      */
+    @Override
     public int width() {
         return width;
     }
@@ -227,48 +589,87 @@ public class World implements Serializable {
      * Height of this world.
      * @return height of this world in tile count.
      */
+    @Override
     public int height() {
         return height;
     }
 
-    public void moveUser(Direction direction) {
-        int deltaX = 0;
-        int deltaY = 0;
-        switch (direction) {
-            case TOP -> deltaY += 1;
-            case RIGHT_TOP -> {
-                deltaX += 1;
-                deltaY += 1;
-            }
-            case RIGHT -> deltaX += 1;
-            case RIGHT_BOTTOM -> {
-                deltaX += 1;
-                deltaY -= 1;
-            }
-            case BOTTOM -> deltaY -= 1;
-            case LEFT_BOTTOM -> {
-                deltaX -= 1;
-                deltaY -= 1;
-            }
-            case LEFT -> deltaX -= 1;
-            case LEFT_TOP -> {
-                deltaX -= 1;
-                deltaY += 1;
-            }
+    /**
+     * Grid of tiles of this world, without user and goal, for saving and loading.
+     */
+    TileGrid tileGrid() {
+        return tiles;
+    }
+
+    RectRooms rooms() {
+        return rooms;
+    }
+
+    Hallways hallways() {
+        return hallWays;
+    }
+
+    /**
+     * Position of user, copied.
+     */
+    public Point userPosition() {
+        return new Point(userPosition);
+    }
+
+    Point goal() {
+        return new Point(goal);
+    }
+
+    ConnectionStrategy connectionStrategy() {
+        return connectionStrategy;
+    }
+
+    RoomPlacement roomPlacement() {
+        return roomPlacement;
+    }
+
+    GridPathFinder.SearchMode hallwaySearch() {
+        return hallWays.searchMode();
+    }
+
+    GridHeuristic hallwayHeuristic() {
+        return hallWays.heuristic();
+    }
+
+    /**
+     * Put user and goal at positions of loaded world.
+     */
+    void placeUserAndGoal(int userX, int userY, int goalX, int goalY) {
+        if (!tiles.inBoundary(userX, userY)) {
+            throw new IllegalArgumentException("User position (" + userX + ", " + userY + ") out of world.");
         }
-        int newUserX = userPosition.x + deltaX;
+        if (!tiles.inBoundary(goalX, goalY)) {
+            throw new IllegalArgumentException("Goal position (" + goalX + ", " + goalY + ") out of world.");
+        }
+        userPosition.x = userX;
+        userPosition.y = userY;
+        goal.x = goalX;
+        goal.y = goalY;
+        dirtyCells.markAll();
+    }
+
+    public void moveUser(Direction direction) {
+        int newUserX = userPosition.x + direction.deltaX();
         if (newUserX < 0 || width <= newUserX) {
             newUserX = userPosition.x;
         }
-        int newUserY = userPosition.y + deltaY;
+        int newUserY = userPosition.y + direction.deltaY();
         if (newUserY < 0 || height <= newUserY) {
             newUserY = userPosition.y;
         }
-        TETile newUserTile = tiles[newUserX][newUserY];
-        if (blocks.contains(newUserTile)) {
+        if (tiles.isBlocking(newUserX, newUserY)) {
             newUserX = userPosition.x;
             newUserY = userPosition.y;
         }
+        if (newUserX != userPosition.x || newUserY != userPosition.y) {
+            dirtyCells.mark(userPosition.x, userPosition.y);
+            dirtyCells.mark(newUserX, newUserY);
+        }
         userPosition.x = newUserX;
         userPosition.y = newUserY;
     }
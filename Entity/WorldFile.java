@@ -0,0 +1,397 @@
+package Entity;
+
+import TileEngine.TETile;
+import TileEngine.TileGrid;
+import TileEngine.TilePalette;
+
+import java.awt.*;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary save format of world, written and read as a stream through NIO channels.
+ *
+ * Layout, all integers are unsigned varints unless noted:
+ * header:   magic (4 bytes "BYOW"), version, width, height, connection strategy ordinal.
+ * palette:  tile count, then per tile: character, text color (4 bytes ARGB), background color (4 bytes ARGB),
+ *           description, has filepath (1 byte), filepath if it has one. Strings are byte length and UTF-8 bytes.
+ * tiles:    runs of (tile id, run length) over cells in TileGrid index order, until all cells are covered.
+ * rooms:    room count, then per room: x, y, width, height, floor id, wall id, door count,
+ *           then per door: x, y, closed id, opened id, opened (1 byte).
+ * hallways: hallway count, then per hallway: from x, from y, to x, to y, floor id, wall id.
+ * entities: user x, user y, goal x, goal y.
+ */
+public class WorldFile {
+    public static final int MAGIC = 0x42594F57; // "BYOW" in ASCII.
+    public static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Save world to file at path, replacing the file if it exists.
+     */
+    public static void save(World world, Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Cannot save world to null path.");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(world, channel);
+        }
+    }
+
+    /**
+     * Load world from file at path.
+     */
+    public static World load(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Cannot load world from null path.");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Write world to channel, the channel is not closed.
+     */
+    public static void write(World world, WritableByteChannel channel) throws IOException {
+        if (world == null) {
+            throw new IllegalArgumentException("Cannot write null world.");
+        }
+        if (channel == null) {
+            throw new IllegalArgumentException("Cannot write world to null channel.");
+        }
+        TileGrid grid = world.tileGrid();
+        TilePalette palette = grid.palette();
+        // Register tiles of rooms, doors and hallways, so that all of them have ids in the written palette.
+        for (RectRoom room: world.rooms()) {
+            palette.idOf(room.floorTile);
+            palette.idOf(room.wallTile);
+            for (Door door: room.doors) {
+                palette.idOf(door.closedTile);
+                palette.idOf(door.openedTile);
+            }
+        }
+        for (Hallway hallway: world.hallways()) {
+            palette.idOf(hallway.floorTile);
+            palette.idOf(hallway.wallTile);
+        }
+        Writer writer = new Writer(channel);
+        // Header.
+        writer.putInt(MAGIC);
+        writer.putVarInt(VERSION);
+        writer.putVarInt(world.width());
+        writer.putVarInt(world.height());
+        writer.putVarInt(world.connectionStrategy().ordinal());
+        // Palette.
+        int tileCount = palette.size();
+        writer.putVarInt(tileCount);
+        for (int id = 0; id < tileCount; id++) {
+            TETile tile = palette.tileOf((short) id);
+            writer.putVarInt(tile.character());
+            writer.putInt(tile.textColor().getRGB());
+            writer.putInt(tile.backgroundColor().getRGB());
+            writer.putString(tile.description());
+            if (tile.filepath() == null) {
+                writer.putByte(0);
+            } else {
+                writer.putByte(1);
+                writer.putString(tile.filepath());
+            }
+        }
+        // Tiles.
+        int cellCount = grid.width() * grid.height();
+        int index = 0;
+        while (index < cellCount) {
+            int runEnd = grid.runEnd(index);
+            writer.putVarInt(grid.idAtIndex(index));
+            writer.putVarInt(runEnd - index);
+            index = runEnd;
+        }
+        // Rooms.
+        writer.putVarInt(world.rooms().size());
+        for (RectRoom room: world.rooms()) {
+            writer.putVarInt(room.x);
+            writer.putVarInt(room.y);
+            writer.putVarInt(room.width);
+            writer.putVarInt(room.height);
+            writer.putVarInt(palette.idOf(room.floorTile));
+            writer.putVarInt(palette.idOf(room.wallTile));
+            writer.putVarInt(room.doors.size());
+            for (Door door: room.doors) {
+                writer.putVarInt(door.x);
+                writer.putVarInt(door.y);
+                writer.putVarInt(palette.idOf(door.closedTile));
+                writer.putVarInt(palette.idOf(door.openedTile));
+                writer.putByte(door.opened ? 1 : 0);
+            }
+        }
+        // Hallways.
+        writer.putVarInt(world.hallways().size());
+        for (Hallway hallway: world.hallways()) {
+            writer.putVarInt(hallway.from.x);
+            writer.putVarInt(hallway.from.y);
+            writer.putVarInt(hallway.to.x);
+            writer.putVarInt(hallway.to.y);
+            writer.putVarInt(palette.idOf(hallway.floorTile));
+            writer.putVarInt(palette.idOf(hallway.wallTile));
+        }
+        // Entities.
+        Point userPosition = world.userPosition();
+        Point goal = world.goal();
+        writer.putVarInt(userPosition.x);
+        writer.putVarInt(userPosition.y);
+        writer.putVarInt(goal.x);
+        writer.putVarInt(goal.y);
+        writer.flush();
+    }
+
+    /**
+     * Read world from channel, the channel is not closed.
+     * @throws IOException if the data is not a saved world, is of unsupported version or is truncated.
+     */
+    public static World read(ReadableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Cannot read world from null channel.");
+        }
+        Reader reader = new Reader(channel);
+        // Header.
+        if (reader.getInt() != MAGIC) {
+            throw new IOException("Not a saved world.");
+        }
+        int version = reader.getVarInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of saved world: " + version);
+        }
+        int width = reader.getVarInt();
+        int height = reader.getVarInt();
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IOException("Invalid size of saved world: " + width + "x" + height);
+        }
+        World.ConnectionStrategy[] strategies = World.ConnectionStrategy.values();
+        int strategyOrdinal = reader.getVarInt();
+        if (strategies.length <= strategyOrdinal) {
+            throw new IOException("Unknown connection strategy of saved world: " + strategyOrdinal);
+        }
+        World world = new World(width, height);
+        world.setConnectionStrategy(strategies[strategyOrdinal]);
+        TileGrid grid = world.tileGrid();
+        TilePalette palette = grid.palette();
+        // Palette, ids of saved tiles are mapped to ids in palette of the new world.
+        int tileCount = reader.getVarInt();
+        if (tileCount > TilePalette.MAX_TILE_COUNT) {
+            throw new IOException("Too many tiles in saved world: " + tileCount);
+        }
+        TETile[] savedTiles = new TETile[tileCount];
+        short[] idOfSavedId = new short[tileCount];
+        for (int savedId = 0; savedId < tileCount; savedId++) {
+            char character = (char) reader.getVarInt();
+            Color textColor = new Color(reader.getInt(), true);
+            Color backgroundColor = new Color(reader.getInt(), true);
+            String description = reader.getString();
+            String filepath = reader.getByte() == 0 ? null : reader.getString();
+            TETile tile = TETile.intern(new TETile(character, textColor, backgroundColor, description, filepath));
+            idOfSavedId[savedId] = palette.idOf(tile);
+            savedTiles[savedId] = palette.tileOf(idOfSavedId[savedId]);
+        }
+        // Tiles.
+        int cellCount = width * height;
+        int index = 0;
+        while (index < cellCount) {
+            int savedId = readSavedId(reader, tileCount);
+            int runLength = reader.getVarInt();
+            if (runLength <= 0 || cellCount - index < runLength) {
+                throw new IOException("Invalid tile run of length " + runLength + " at cell " + index);
+            }
+            grid.fillRange(index, index + runLength, idOfSavedId[savedId]);
+            index += runLength;
+        }
+        // Rooms.
+        int roomCount = reader.getVarInt();
+        for (int i = 0; i < roomCount; i++) {
+            int x = reader.getVarInt();
+            int y = reader.getVarInt();
+            int roomWidth = reader.getVarInt();
+            int roomHeight = reader.getVarInt();
+            TETile floorTile = savedTiles[readSavedId(reader, tileCount)];
+            TETile wallTile = savedTiles[readSavedId(reader, tileCount)];
+            RectRoom room = new RectRoom(x, y, roomWidth, roomHeight, floorTile, wallTile);
+            int doorCount = reader.getVarInt();
+            for (int j = 0; j < doorCount; j++) {
+                int doorX = reader.getVarInt();
+                int doorY = reader.getVarInt();
+                TETile closedTile = savedTiles[readSavedId(reader, tileCount)];
+                TETile openedTile = savedTiles[readSavedId(reader, tileCount)];
+                boolean opened = reader.getByte() != 0;
+                room.addDoor(new Door(doorX, doorY, closedTile, openedTile, opened));
+            }
+            if (!world.rooms().add(room)) {
+                throw new IOException("Overlapped room in saved world: " + room);
+            }
+        }
+        // Hallways.
+        int hallwayCount = reader.getVarInt();
+        for (int i = 0; i < hallwayCount; i++) {
+            Point from = new Point(reader.getVarInt(), reader.getVarInt());
+            Point to = new Point(reader.getVarInt(), reader.getVarInt());
+            TETile floorTile = savedTiles[readSavedId(reader, tileCount)];
+            TETile wallTile = savedTiles[readSavedId(reader, tileCount)];
+            world.hallways().add(new Hallway(from, to, floorTile, wallTile));
+        }
+        // Entities.
+        int userX = reader.getVarInt();
+        int userY = reader.getVarInt();
+        int goalX = reader.getVarInt();
+        int goalY = reader.getVarInt();
+        try {
+            world.placeUserAndGoal(userX, userY, goalX, goalY);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+        return world;
+    }
+
+    private static int readSavedId(Reader reader, int tileCount) throws IOException {
+        int savedId = reader.getVarInt();
+        if (tileCount <= savedId) {
+            throw new IOException("Unknown tile id of saved world: " + savedId);
+        }
+        return savedId;
+    }
+
+    /**
+     * Buffered writing of primitives to channel.
+     */
+    private static class Writer {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+
+        Writer(WritableByteChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        private void ensureRemaining(int byteCount) throws IOException {
+            if (buffer.remaining() < byteCount) {
+                flush();
+            }
+        }
+
+        void putByte(int value) throws IOException {
+            ensureRemaining(1);
+            buffer.put((byte) value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        /**
+         * Write non-negative value in 7 bits per byte, lower bits first, the high bit marks following bytes.
+         */
+        void putVarInt(int value) throws IOException {
+            if (value < 0) {
+                throw new IllegalArgumentException("Cannot write negative value as varint: " + value);
+            }
+            ensureRemaining(5);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensureRemaining(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Buffered reading of primitives from channel.
+     */
+    private static class Reader {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer;
+
+        Reader(ReadableByteChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            this.buffer.flip(); // Nothing read yet.
+        }
+
+        private void ensureAvailable(int byteCount) throws IOException {
+            if (buffer.remaining() >= byteCount) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < byteCount) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Unexpected end of saved world.");
+                }
+            }
+            buffer.flip();
+        }
+
+        int getByte() throws IOException {
+            ensureAvailable(1);
+            return buffer.get() & 0xFF;
+        }
+
+        int getInt() throws IOException {
+            ensureAvailable(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        int getVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = getByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    if (value < 0) {
+                        throw new IOException("Negative varint in saved world.");
+                    }
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in saved world.");
+        }
+
+        String getString() throws IOException {
+            int length = getVarInt();
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                ensureAvailable(1);
+                int count = Math.min(buffer.remaining(), length - offset);
+                buffer.get(bytes, offset, count);
+                offset += count;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
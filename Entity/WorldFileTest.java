@@ -0,0 +1,41 @@
+package Entity;
+
+import TileEngine.TETile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class WorldFileTest {
+    @Test
+    public void saveLoadTest() throws IOException {
+        World world = new World(80, 30);
+        world.randWorld(1234);
+        Path path = Files.createTempFile("world", ".save");
+        try {
+            WorldFile.save(world, path);
+            World loadedWorld = WorldFile.load(path);
+            Assert.assertEquals(TETile.toString(world.tiles()), TETile.toString(loadedWorld.tiles()));
+            Assert.assertEquals(world.userPosition(), loadedWorld.userPosition());
+            Assert.assertEquals(world.goal(), loadedWorld.goal());
+            Assert.assertEquals(world.rooms(), loadedWorld.rooms());
+            Assert.assertEquals(world.hallways(), loadedWorld.hallways());
+            Assert.assertEquals(world.connectionStrategy(), loadedWorld.connectionStrategy());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void notSavedWorldTest() throws IOException {
+        Path path = Files.createTempFile("world", ".save");
+        try {
+            Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            WorldFile.load(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
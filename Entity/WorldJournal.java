@@ -0,0 +1,262 @@
+package Entity;
+
+import Core.GridHeuristic;
+import Core.GridPathFinder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only save of world as the seed generating it and the keys typed since generation.
+ * Since World.randWorld is deterministic, replaying the keys on the generated world restores the world.
+ * Every snapshotInterval keys, the whole world is appended as a WorldFile snapshot,
+ * so that loading only replays keys typed after the last snapshot.
+ *
+ * Layout:
+ * header:   magic (4 bytes "BYOJ"), version (4 bytes), seed (8 bytes), width (4 bytes), height (4 bytes),
+ *           ordinals of connection strategy, room placement, hallway search and hallway heuristic (1 byte each),
+ *           the heuristic ordinal is CUSTOM_HEURISTIC if it is not a standard heuristic.
+ * records:  either a key as one non-zero ASCII byte,
+ *           or a snapshot as a zero byte, byte length (4 bytes) and the world in WorldFile format.
+ */
+public class WorldJournal implements Closeable {
+    public static final int MAGIC = 0x42594F4A; // "BYOJ" in ASCII.
+    public static final int VERSION = 3; // Version 3 keeps generation settings in header, unlike version 2.
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 1024;
+    private static final int HEADER_SIZE = 28;
+    private static final byte SNAPSHOT_TAG = 0;
+    /**
+     * Heuristic ordinal of world traced by custom heuristic, which can only be replayed from a snapshot.
+     */
+    private static final byte CUSTOM_HEURISTIC = -1;
+    private final FileChannel channel; // Journal file opened for appending.
+    private final World world; // The world whose keys are journaled.
+    private final int snapshotInterval; // Key count between snapshots, 0 for no snapshot.
+    private final ByteBuffer keyBuffer; // Buffer of one key record.
+    private int keysSinceSnapshot; // Keys appended after the last snapshot.
+
+    /**
+     * World restored from journal, without the keys typed after the last snapshot applied yet.
+     */
+    public static class Replay {
+        public final World world; // Generated world, or the last snapshot.
+        public final String keys; // Keys typed after generation or the last snapshot.
+
+        Replay(World world, String keys) {
+            this.world = world;
+            this.keys = keys;
+        }
+    }
+
+    private WorldJournal(FileChannel channel, World world, int snapshotInterval, int keysSinceSnapshot) {
+        this.channel = channel;
+        this.world = world;
+        this.snapshotInterval = snapshotInterval;
+        this.keyBuffer = ByteBuffer.allocate(1);
+        this.keysSinceSnapshot = keysSinceSnapshot;
+    }
+
+    private static void validate(World world, int snapshotInterval) {
+        if (world == null) {
+            throw new IllegalArgumentException("Cannot journal null world.");
+        }
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException("Snapshot interval is negative, interval: " + snapshotInterval);
+        }
+    }
+
+    /**
+     * Create journal at path for world generated by seed, replacing the file if it exists.
+     * Generation settings of world are kept, so that the same world is generated when replaying.
+     * Hallway routing is not kept, since every routing fills the same tiles. A world traced by custom heuristic
+     * cannot be generated again, so it is replayed only from a snapshot.
+     */
+    public static WorldJournal create(Path path, World world, long seed, int snapshotInterval) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Cannot create journal at null path.");
+        }
+        validate(world, snapshotInterval);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(seed);
+            header.putInt(world.width());
+            header.putInt(world.height());
+            header.put((byte) world.connectionStrategy().ordinal());
+            header.put((byte) world.roomPlacement().ordinal());
+            header.put((byte) world.hallwaySearch().ordinal());
+            if (world.hallwayHeuristic() instanceof GridHeuristic.Standard heuristic) {
+                header.put((byte) heuristic.ordinal());
+            } else {
+                header.put(CUSTOM_HEURISTIC);
+            }
+            header.flip();
+            writeFully(channel, header);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new WorldJournal(channel, world, snapshotInterval, 0);
+    }
+
+    /**
+     * Continue appending to journal at path, world must be the replayed world of the journal.
+     */
+    public static WorldJournal append(Path path, Replay replay, int snapshotInterval) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Cannot append journal at null path.");
+        }
+        if (replay == null) {
+            throw new IllegalArgumentException("Cannot append journal of null replay.");
+        }
+        validate(replay.world, snapshotInterval);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new WorldJournal(channel, replay.world, snapshotInterval, replay.keys.length());
+    }
+
+    /**
+     * Append typed key, and a snapshot of world if snapshotInterval keys are appended since the last one.
+     */
+    public void appendKey(char key) throws IOException {
+        if (key == SNAPSHOT_TAG || key > 0x7F) {
+            throw new IllegalArgumentException("Cannot journal non-ASCII key: " + (int) key);
+        }
+        keyBuffer.clear();
+        keyBuffer.put((byte) key);
+        keyBuffer.flip();
+        writeFully(channel, keyBuffer);
+        keysSinceSnapshot++;
+        if (snapshotInterval > 0 && keysSinceSnapshot >= snapshotInterval) {
+            appendSnapshot();
+        }
+    }
+
+    /**
+     * Append the current state of world, keys before it are not replayed when loading.
+     */
+    public void appendSnapshot() throws IOException {
+        ByteArrayOutputStream snapshotStream = new ByteArrayOutputStream();
+        WorldFile.write(world, Channels.newChannel(snapshotStream));
+        ByteBuffer record = ByteBuffer.allocate(1 + Integer.BYTES + snapshotStream.size());
+        record.put(SNAPSHOT_TAG);
+        record.putInt(snapshotStream.size());
+        record.put(snapshotStream.toByteArray());
+        record.flip();
+        writeFully(channel, record);
+        keysSinceSnapshot = 0;
+    }
+
+    /**
+     * Count of keys appended after the last snapshot.
+     */
+    public int keysSinceSnapshot() {
+        return keysSinceSnapshot;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Restore world of journal at path from its last snapshot, or by generating it from seed.
+     * @throws IOException if the file is not a journal, is of unsupported version or is truncated.
+     */
+    public static Replay replay(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Cannot replay journal at null path.");
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (data.remaining() < HEADER_SIZE || data.getInt() != MAGIC) {
+            throw new IOException("Not a world journal.");
+        }
+        int version = data.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of world journal: " + version);
+        }
+        long seed = data.getLong();
+        int width = data.getInt();
+        int height = data.getInt();
+        if (width <= 0 || height <= 0) {
+            throw new IOException("Invalid size of journaled world: " + width + "x" + height);
+        }
+        World.ConnectionStrategy connectionStrategy = settingOf(World.ConnectionStrategy.values(), data.get(),
+                "connection strategy");
+        World.RoomPlacement roomPlacement = settingOf(World.RoomPlacement.values(), data.get(), "room placement");
+        GridPathFinder.SearchMode hallwaySearch = settingOf(GridPathFinder.SearchMode.values(), data.get(),
+                "hallway search");
+        byte heuristicOrdinal = data.get();
+        GridHeuristic hallwayHeuristic = null;
+        if (heuristicOrdinal != CUSTOM_HEURISTIC) {
+            hallwayHeuristic = settingOf(GridHeuristic.Standard.values(), heuristicOrdinal, "hallway heuristic");
+        }
+        // Find the last snapshot, keys before it are not needed.
+        int snapshotOffset = -1;
+        int snapshotLength = 0;
+        int keysOffset = data.position();
+        while (data.hasRemaining()) {
+            if (data.get() != SNAPSHOT_TAG) {
+                continue;
+            }
+            if (data.remaining() < Integer.BYTES) {
+                throw new IOException("Truncated snapshot in world journal.");
+            }
+            int length = data.getInt();
+            if (length < 0 || data.remaining() < length) {
+                throw new IOException("Truncated snapshot in world journal.");
+            }
+            snapshotOffset = data.position();
+            snapshotLength = length;
+            data.position(data.position() + length);
+            keysOffset = data.position();
+        }
+        World world;
+        if (snapshotOffset < 0) {
+            if (hallwayHeuristic == null) {
+                throw new IOException("Cannot generate journaled world traced by custom heuristic without snapshot.");
+            }
+            world = new World(width, height);
+            world.setConnectionStrategy(connectionStrategy);
+            world.setRoomPlacement(roomPlacement);
+            world.setHallwaySearch(hallwaySearch);
+            world.setHallwayHeuristic(hallwayHeuristic);
+            world.randWorld(seed);
+        } else {
+            world = WorldFile.read(Channels.newChannel(
+                    new ByteArrayInputStream(data.array(), snapshotOffset, snapshotLength)));
+        }
+        StringBuilder keys = new StringBuilder(data.limit() - keysOffset);
+        for (int i = keysOffset; i < data.limit(); i++) {
+            keys.append((char) data.get(i));
+        }
+        return new Replay(world, keys.toString());
+    }
+
+    /**
+     * Setting of journaled world by its ordinal in header.
+     * @throws IOException if the ordinal is unknown.
+     */
+    private static <T> T settingOf(T[] settings, byte ordinal, String settingName) throws IOException {
+        if (ordinal < 0 || settings.length <= ordinal) {
+            throw new IOException("Unknown " + settingName + " of journaled world: " + ordinal);
+        }
+        return settings[ordinal];
+    }
+}
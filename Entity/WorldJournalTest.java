@@ -0,0 +1,78 @@
+package Entity;
+
+import Core.GridHeuristic;
+import Core.GridPathFinder;
+import Shape.Direction;
+import TileEngine.TETile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class WorldJournalTest {
+    private static Direction directionOf(char key) {
+        switch (key) {
+            case 'w': return Direction.TOP;
+            case 'd': return Direction.RIGHT;
+            case 's': return Direction.BOTTOM;
+            default: return Direction.LEFT;
+        }
+    }
+
+    private static void replayTest(int snapshotInterval, int expectedReplayKeyCount) throws IOException {
+        replayTest(new World(80, 30), snapshotInterval, expectedReplayKeyCount);
+    }
+
+    private static void replayTest(World world, int snapshotInterval, int expectedReplayKeyCount)
+            throws IOException {
+        final String KEYS = "wasdwwddsaaw";
+        final long SEED = 1234;
+        world.randWorld(SEED);
+        Path path = Files.createTempFile("world", ".journal");
+        try {
+            try (WorldJournal journal = WorldJournal.create(path, world, SEED, snapshotInterval)) {
+                for (char key: KEYS.toCharArray()) {
+                    world.moveUser(directionOf(key));
+                    journal.appendKey(key);
+                }
+            }
+            WorldJournal.Replay replay = WorldJournal.replay(path);
+            Assert.assertEquals(expectedReplayKeyCount, replay.keys.length());
+            for (char key: replay.keys.toCharArray()) {
+                replay.world.moveUser(directionOf(key));
+            }
+            Assert.assertEquals(TETile.toString(world.tiles()), TETile.toString(replay.world.tiles()));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void replayFromSeedTest() throws IOException {
+        replayTest(0, 12);
+    }
+
+    @Test
+    public void replayFromSnapshotTest() throws IOException {
+        replayTest(5, 2);
+    }
+
+    @Test
+    public void replaySettingsTest() throws IOException {
+        World world = new World(200, 150);
+        world.setConnectionStrategy(World.ConnectionStrategy.NEAREST_REMAINING);
+        world.setRoomPlacement(World.RoomPlacement.PARALLEL_REGIONS);
+        world.setHallwaySearch(GridPathFinder.SearchMode.JUMP_POINT);
+        world.setHallwayHeuristic(GridHeuristic.Standard.OCTILE);
+        replayTest(world, 0, 12);
+    }
+
+    @Test(expected = IOException.class)
+    public void customHeuristicWithoutSnapshotTest() throws IOException {
+        World world = new World(80, 30);
+        world.setHallwayHeuristic((deltaX, deltaY) -> (long) deltaX + deltaY);
+        replayTest(world, 0, 12);
+    }
+}
@@ -0,0 +1,28 @@
+package Entity;
+
+import TileEngine.TETile;
+
+/**
+ * Read-only view of tiles of a world, reading the current tiles without copying them.
+ */
+public interface WorldView {
+    /**
+     * @return Width of world in tile count.
+     */
+    int width();
+
+    /**
+     * @return Height of world in tile count.
+     */
+    int height();
+
+    /**
+     * Tile at (x, y), including user and goal.
+     */
+    TETile tileAt(int x, int y);
+
+    /**
+     * Description of tile at (x, y), including user and goal.
+     */
+    String descriptionAt(int x, int y);
+}
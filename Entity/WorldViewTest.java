@@ -0,0 +1,30 @@
+package Entity;
+
+import Shape.Direction;
+import TileEngine.TETile;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorldViewTest {
+    private static void assertSameTiles(WorldView view, TETile[][] tiles) {
+        for (int x = 0; x < view.width(); x++) {
+            for (int y = 0; y < view.height(); y++) {
+                Assert.assertSame(tiles[x][y], view.tileAt(x, y));
+                Assert.assertEquals(tiles[x][y].description(), view.descriptionAt(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void tileAtTest() {
+        World world = new World(60, 40);
+        world.randWorld(42);
+        WorldView view = world;
+        assertSameTiles(view, world.tiles());
+        // The view reads current tiles after the user moves.
+        for (Direction direction: new Direction[]{Direction.TOP, Direction.RIGHT, Direction.BOTTOM, Direction.LEFT}) {
+            world.moveUser(direction);
+            assertSameTiles(view, world.tiles());
+        }
+    }
+}
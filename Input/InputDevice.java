@@ -1,5 +1,7 @@
 package Input;
 
+import java.util.concurrent.TimeUnit;
+
 public interface InputDevice {
     /**
      * The next character of input.
@@ -12,4 +14,17 @@ public interface InputDevice {
      * @return True, if there are remaining characters of input, else false.
      */
     boolean possibleNextInput();
+
+    /**
+     * The next character of input, waiting at most timeout for it.
+     * Input not waiting for anything, e.g. string input, returns its next character at once.
+     * Null only means timeout or end of input, failing to wait, e.g. being interrupted, throws an exception.
+     * @return Next character of input, null if no character comes within timeout or there is no remaining input.
+     */
+    default Character pollNextKey(long timeout, TimeUnit unit) {
+        if (!possibleNextInput()) {
+            return null;
+        }
+        return getNextKey();
+    }
 }
@@ -1,24 +1,66 @@
 package Input;
 
-import edu.princeton.cs.introcs.StdDraw;
+import java.awt.KeyEventDispatcher;
+import java.awt.KeyboardFocusManager;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Keys typed in the window, the typed keys are queued by the AWT event thread,
+ * and the reading thread sleeps until a key is typed instead of polling StdDraw.
+ */
 public class KeyboardInput implements InputDevice {
     private final boolean printTypeKeys;
+    private final BlockingQueue<Character> typedKeys; // Keys typed but not read yet.
 
     public KeyboardInput(boolean printTypeKeys) {
         this.printTypeKeys = printTypeKeys;
+        this.typedKeys = new LinkedBlockingQueue<>();
+        KeyEventDispatcher dispatcher = this::dispatchKeyEvent;
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(dispatcher);
+    }
+
+    /**
+     * Queue typed keys, typed keys are consumed so that they are not queued by StdDraw as well.
+     */
+    private boolean dispatchKeyEvent(KeyEvent event) {
+        if (event.getID() != KeyEvent.KEY_TYPED) {
+            return false;
+        }
+        typedKeys.offer(event.getKeyChar());
+        return true;
     }
 
     public char getNextKey() {
-        while (true) {
-            if (StdDraw.hasNextKeyTyped()) {
-                char returnChar = StdDraw.nextKeyTyped();
-                if (printTypeKeys) {
-                    System.out.print(returnChar);
-                }
-                return returnChar;
+        try {
+            return read(typedKeys.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for typed key.", e);
+        }
+    }
+
+    @Override
+    public Character pollNextKey(long timeout, TimeUnit unit) {
+        try {
+            Character typedKey = typedKeys.poll(timeout, unit);
+            if (typedKey == null) {
+                return null;
             }
+            return read(typedKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for typed key.", e);
+        }
+    }
+
+    private char read(char typedKey) {
+        if (printTypeKeys) {
+            System.out.print(typedKey);
         }
+        return typedKey;
     }
 
     public boolean possibleNextInput() {
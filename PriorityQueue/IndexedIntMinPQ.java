@@ -0,0 +1,175 @@
+package PriorityQueue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Min priority queue of dense int keys in [0, capacity) backed by a d-ary heap.
+ * Priorities are kept in double array and heap positions of keys in int array,
+ * so add, removeSmallest and changePriority run in O(log n) without hashing or boxing.
+ */
+public class IndexedIntMinPQ {
+    private static final int ABSENT = -1;
+    private final int arity; // Children count of each heap node, 2, 4 or 8.
+    private final int[] heap; // Keys ordered as d-ary min heap.
+    private final int[] heapIdx; // Position of key in heap, ABSENT if key is not in queue.
+    private final double[] priorities; // Priority of key, valid only if key is in queue.
+    private int size;
+
+    /**
+     * Binary heap accepting keys in [0, capacity).
+     */
+    public IndexedIntMinPQ(int capacity) {
+        this(capacity, 2);
+    }
+
+    /**
+     * D-ary heap accepting keys in [0, capacity).
+     * @param capacity number of possible keys.
+     * @param arity children count of each heap node, must be 2, 4 or 8.
+     */
+    public IndexedIntMinPQ(int capacity, int arity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative, capacity = " + capacity);
+        }
+        if (arity != 2 && arity != 4 && arity != 8) {
+            throw new IllegalArgumentException("Arity must be 2, 4 or 8, arity = " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.heapIdx = new int[capacity];
+        Arrays.fill(this.heapIdx, ABSENT);
+        this.priorities = new double[capacity];
+        this.size = 0;
+    }
+
+    private void validateKey(int key) {
+        if (key < 0 || heapIdx.length <= key) {
+            throw new IllegalArgumentException("Key " + key + " out of capacity " + heapIdx.length);
+        }
+    }
+
+    private void swim(int idx) {
+        int key = heap[idx];
+        double priority = priorities[key];
+        while (idx > 0) {
+            int parentIdx = (idx - 1) / arity;
+            int parentKey = heap[parentIdx];
+            if (priorities[parentKey] <= priority) {
+                break;
+            }
+            heap[idx] = parentKey;
+            heapIdx[parentKey] = idx;
+            idx = parentIdx;
+        }
+        heap[idx] = key;
+        heapIdx[key] = idx;
+    }
+
+    private void sink(int idx) {
+        int key = heap[idx];
+        double priority = priorities[key];
+        while (true) {
+            int firstChild = idx * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + arity, size);
+            int minChild = firstChild;
+            double minPriority = priorities[heap[firstChild]];
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                double childPriority = priorities[heap[child]];
+                if (childPriority < minPriority) {
+                    minChild = child;
+                    minPriority = childPriority;
+                }
+            }
+            if (priority <= minPriority) {
+                break;
+            }
+            int minChildKey = heap[minChild];
+            heap[idx] = minChildKey;
+            heapIdx[minChildKey] = idx;
+            idx = minChild;
+        }
+        heap[idx] = key;
+        heapIdx[key] = idx;
+    }
+
+    /* Inserts a key with the given priority value. */
+    public void add(int key, double priority) {
+        validateKey(key);
+        if (heapIdx[key] != ABSENT) {
+            throw new IllegalArgumentException("Already contains " + key);
+        }
+        priorities[key] = priority;
+        heap[size] = key;
+        heapIdx[key] = size;
+        size++;
+        swim(size - 1);
+    }
+
+    /* Returns true if the PQ contains the given key. */
+    public boolean contains(int key) {
+        return 0 <= key && key < heapIdx.length && heapIdx[key] != ABSENT;
+    }
+
+    /* Returns the minimum key. */
+    public int getSmallest() {
+        if (size == 0) {
+            throw new NoSuchElementException("PQ is empty.");
+        }
+        return heap[0];
+    }
+
+    /* Removes and returns the minimum key. */
+    public int removeSmallest() {
+        if (size == 0) {
+            throw new NoSuchElementException("PQ is empty.");
+        }
+        int smallestKey = heap[0];
+        heapIdx[smallestKey] = ABSENT;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            sink(0);
+        }
+        return smallestKey;
+    }
+
+    /* Changes the priority of the given key. */
+    public void changePriority(int key, double priority) {
+        if (!contains(key)) {
+            throw new NoSuchElementException(key + " not in PQ.");
+        }
+        double oldPriority = priorities[key];
+        priorities[key] = priority;
+        if (priority < oldPriority) {
+            swim(heapIdx[key]);
+        } else {
+            sink(heapIdx[key]);
+        }
+    }
+
+    public double peekPriority(int key) {
+        if (!contains(key)) {
+            throw new NoSuchElementException(key + " not in PQ.");
+        }
+        return priorities[key];
+    }
+
+    /* Returns the number of keys in the PQ. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all keys, only touching keys remaining in the queue.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heapIdx[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+}
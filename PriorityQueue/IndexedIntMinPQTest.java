@@ -0,0 +1,94 @@
+package PriorityQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class IndexedIntMinPQTest {
+    private static final int[] ARITIES = {2, 4, 8};
+
+    @Test
+    public void addRemoveTest() {
+        for (int arity: ARITIES) {
+            IndexedIntMinPQ pq = new IndexedIntMinPQ(10, arity);
+            pq.add(3, 3.0);
+            pq.add(7, 1.0);
+            pq.add(5, 2.0);
+            Assert.assertEquals(3, pq.size());
+            Assert.assertTrue(pq.contains(5));
+            Assert.assertFalse(pq.contains(4));
+            Assert.assertEquals(7, pq.getSmallest());
+            Assert.assertEquals(7, pq.removeSmallest());
+            Assert.assertEquals(5, pq.removeSmallest());
+            Assert.assertEquals(3, pq.removeSmallest());
+            Assert.assertEquals(0, pq.size());
+            Assert.assertFalse(pq.contains(7));
+        }
+    }
+
+    @Test
+    public void changePriorityTest() {
+        for (int arity: ARITIES) {
+            IndexedIntMinPQ pq = new IndexedIntMinPQ(10, arity);
+            for (int key = 0; key < 10; key++) {
+                pq.add(key, key);
+            }
+            pq.changePriority(9, -1.0);
+            Assert.assertEquals(9, pq.getSmallest());
+            pq.changePriority(9, 100.0);
+            pq.changePriority(0, 50.0);
+            Assert.assertEquals(1, pq.getSmallest());
+            Assert.assertEquals(50.0, pq.peekPriority(0), 0);
+        }
+    }
+
+    @Test
+    public void randomOrderTest() {
+        final int CAPACITY = 1000;
+        Random random = new Random(61);
+        for (int arity: ARITIES) {
+            IndexedIntMinPQ pq = new IndexedIntMinPQ(CAPACITY, arity);
+            DoubleMapPQ<Integer> expectedPQ = new DoubleMapPQ<>();
+            for (int key = 0; key < CAPACITY; key++) {
+                double priority = random.nextDouble();
+                pq.add(key, priority);
+                expectedPQ.add(key, priority);
+            }
+            for (int i = 0; i < CAPACITY; i++) {
+                int key = random.nextInt(CAPACITY);
+                double priority = random.nextDouble();
+                pq.changePriority(key, priority);
+                expectedPQ.changePriority(key, priority);
+            }
+            while (expectedPQ.size() > 0) {
+                Assert.assertEquals((int) expectedPQ.removeSmallest(), pq.removeSmallest());
+            }
+            Assert.assertEquals(0, pq.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateKeyTest() {
+        IndexedIntMinPQ pq = new IndexedIntMinPQ(4);
+        pq.add(1, 1.0);
+        pq.add(1, 2.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void outOfCapacityTest() {
+        IndexedIntMinPQ pq = new IndexedIntMinPQ(4);
+        pq.add(4, 1.0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void removeFromClearedTest() {
+        IndexedIntMinPQ pq = new IndexedIntMinPQ(4);
+        pq.add(1, 1.0);
+        pq.clear();
+        Assert.assertEquals(0, pq.size());
+        Assert.assertFalse(pq.contains(1));
+        pq.removeSmallest();
+    }
+}
@@ -1,5 +1,28 @@
 package Shape;
 
 public enum Direction {
-    TOP, RIGHT_TOP, RIGHT, RIGHT_BOTTOM, BOTTOM, LEFT_BOTTOM, LEFT, LEFT_TOP
+    TOP(0, 1), RIGHT_TOP(1, 1), RIGHT(1, 0), RIGHT_BOTTOM(1, -1),
+    BOTTOM(0, -1), LEFT_BOTTOM(-1, -1), LEFT(-1, 0), LEFT_TOP(-1, 1);
+
+    private final int deltaX; // Change of x moving one step toward this direction.
+    private final int deltaY; // Change of y moving one step toward this direction.
+
+    Direction(int deltaX, int deltaY) {
+        this.deltaX = deltaX;
+        this.deltaY = deltaY;
+    }
+
+    /**
+     * Change of x moving one step toward this direction.
+     */
+    public int deltaX() {
+        return deltaX;
+    }
+
+    /**
+     * Change of y moving one step toward this direction.
+     */
+    public int deltaY() {
+        return deltaY;
+    }
 }
@@ -0,0 +1,18 @@
+package Shape;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DirectionTest {
+    @Test
+    public void deltaTest() {
+        for (Direction direction: Direction.values()) {
+            Assert.assertTrue(Math.abs(direction.deltaX()) <= 1 && Math.abs(direction.deltaY()) <= 1);
+            Assert.assertFalse(direction.deltaX() == 0 && direction.deltaY() == 0);
+        }
+        Assert.assertEquals(1, Direction.TOP.deltaY());
+        Assert.assertEquals(-1, Direction.LEFT_BOTTOM.deltaX());
+        Assert.assertEquals(-1, Direction.LEFT_BOTTOM.deltaY());
+        Assert.assertEquals(1, Direction.RIGHT.deltaX());
+    }
+}
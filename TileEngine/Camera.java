@@ -0,0 +1,209 @@
+package TileEngine;
+
+/**
+ * Viewport of viewWidth x viewHeight tiles over a world of worldWidth x worldHeight tiles, following a target.
+ * The view scrolls only when the target comes closer than margin tiles to its border, and never leaves the world,
+ * unless the world is unbounded.
+ * With smooth scrolling, each step moves the view a fraction of the way to where it should be,
+ * otherwise the view jumps there at once.
+ */
+public class Camera {
+    /**
+     * Fraction of the remaining distance moved per step of smooth scrolling.
+     */
+    private static final double SMOOTHING = 0.35;
+    /**
+     * Distance in tiles below which smooth scrolling snaps to its destination.
+     */
+    private static final double SNAP_DISTANCE = 0.05;
+    private final int worldWidth;
+    private final int worldHeight;
+    private final int viewWidth; // Width of view in tiles.
+    private final int viewHeight; // Height of view in tiles.
+    private final int margin; // Distance in tiles kept between target and border of view.
+    private final boolean bounded; // Whether the view is kept inside the world.
+    private boolean smoothScrolling;
+    private int destinationX; // Left x of view where it scrolls to.
+    private int destinationY; // Bottom y of view where it scrolls to.
+    private double x; // Left x of view in world.
+    private double y; // Bottom y of view in world.
+
+    /**
+     * Create camera viewing the left bottom corner of world, the view is shrunk to the world if it is larger.
+     */
+    public Camera(int worldWidth, int worldHeight, int viewWidth, int viewHeight, int margin) {
+        this(worldWidth, worldHeight, viewWidth, viewHeight, margin, true);
+    }
+
+    /**
+     * Create camera over an unbounded world viewing (0, 0) at its left bottom corner, the view may go anywhere.
+     */
+    public Camera(int viewWidth, int viewHeight, int margin) {
+        this(Integer.MAX_VALUE, Integer.MAX_VALUE, viewWidth, viewHeight, margin, false);
+    }
+
+    private Camera(int worldWidth, int worldHeight, int viewWidth, int viewHeight, int margin, boolean bounded) {
+        if (worldWidth <= 0 || worldHeight <= 0) {
+            throw new IllegalArgumentException("Size of world is not positive, width: " + worldWidth
+                    + ", height: " + worldHeight);
+        }
+        if (viewWidth <= 0 || viewHeight <= 0) {
+            throw new IllegalArgumentException("Size of view is not positive, width: " + viewWidth
+                    + ", height: " + viewHeight);
+        }
+        if (margin < 0) {
+            throw new IllegalArgumentException("Margin of camera is negative, margin: " + margin);
+        }
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.viewWidth = Math.min(viewWidth, worldWidth);
+        this.viewHeight = Math.min(viewHeight, worldHeight);
+        // Margin cannot exceed half of view, or the target could never be inside.
+        this.margin = Math.min(margin, (Math.min(this.viewWidth, this.viewHeight) - 1) / 2);
+        this.bounded = bounded;
+        this.smoothScrolling = false;
+        this.destinationX = 0;
+        this.destinationY = 0;
+        this.x = 0;
+        this.y = 0;
+    }
+
+    public int viewWidth() {
+        return viewWidth;
+    }
+
+    public int viewHeight() {
+        return viewHeight;
+    }
+
+    public int margin() {
+        return margin;
+    }
+
+    /**
+     * Left x of view in world, fractional while scrolling smoothly.
+     */
+    public double x() {
+        return x;
+    }
+
+    /**
+     * Bottom y of view in world, fractional while scrolling smoothly.
+     */
+    public double y() {
+        return y;
+    }
+
+    public void setSmoothScrolling(boolean smoothScrolling) {
+        this.smoothScrolling = smoothScrolling;
+        if (!smoothScrolling) {
+            x = destinationX;
+            y = destinationY;
+        }
+    }
+
+    /**
+     * Scroll toward the view keeping tile (targetX, targetY) at least margin tiles away from its border.
+     * @return True, if the view moves.
+     */
+    public boolean follow(int targetX, int targetY) {
+        destinationX = followAxis(destinationX, targetX, viewWidth, worldWidth);
+        destinationY = followAxis(destinationY, targetY, viewHeight, worldHeight);
+        if (!smoothScrolling) {
+            boolean moved = x != destinationX || y != destinationY;
+            x = destinationX;
+            y = destinationY;
+            return moved;
+        }
+        return isScrolling();
+    }
+
+    /**
+     * Jump to the view following tile (targetX, targetY), without smooth scrolling.
+     */
+    public void center(int targetX, int targetY) {
+        destinationX = clamp(targetX - viewWidth / 2, worldWidth - viewWidth);
+        destinationY = clamp(targetY - viewHeight / 2, worldHeight - viewHeight);
+        x = destinationX;
+        y = destinationY;
+    }
+
+    private int followAxis(int viewMin, int target, int viewSize, int worldSize) {
+        if (target < viewMin + margin) {
+            viewMin = target - margin;
+        } else if (target > viewMin + viewSize - 1 - margin) {
+            viewMin = target - viewSize + 1 + margin;
+        }
+        return clamp(viewMin, worldSize - viewSize);
+    }
+
+    private int clamp(int value, int max) {
+        if (!bounded) {
+            return value;
+        }
+        return Math.max(0, Math.min(value, max));
+    }
+
+    /**
+     * Whether the view has not reached where it scrolls to.
+     */
+    public boolean isScrolling() {
+        return x != destinationX || y != destinationY;
+    }
+
+    /**
+     * Move the view one step of smooth scrolling.
+     * @return True, if the view moves.
+     */
+    public boolean step() {
+        if (!isScrolling()) {
+            return false;
+        }
+        x = stepAxis(x, destinationX);
+        y = stepAxis(y, destinationY);
+        return true;
+    }
+
+    private static double stepAxis(double position, int destination) {
+        double next = position + (destination - position) * SMOOTHING;
+        if (Math.abs(destination - next) < SNAP_DISTANCE) {
+            return destination;
+        }
+        return next;
+    }
+
+    /**
+     * Left x of the first tile column partly inside view.
+     */
+    public int minTileX() {
+        return (int) Math.floor(x);
+    }
+
+    /**
+     * Bottom y of the first tile row partly inside view.
+     */
+    public int minTileY() {
+        return (int) Math.floor(y);
+    }
+
+    /**
+     * Right x of the last tile column partly inside view.
+     */
+    public int maxTileX() {
+        return Math.min(worldWidth - 1, (int) Math.ceil(x + viewWidth) - 1);
+    }
+
+    /**
+     * Top y of the last tile row partly inside view.
+     */
+    public int maxTileY() {
+        return Math.min(worldHeight - 1, (int) Math.ceil(y + viewHeight) - 1);
+    }
+
+    /**
+     * Whether tile (tileX, tileY) is partly inside view.
+     */
+    public boolean inView(int tileX, int tileY) {
+        return minTileX() <= tileX && tileX <= maxTileX() && minTileY() <= tileY && tileY <= maxTileY();
+    }
+}
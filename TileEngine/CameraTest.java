@@ -0,0 +1,74 @@
+package TileEngine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CameraTest {
+    @Test
+    public void followTest() {
+        Camera camera = new Camera(200, 100, 40, 20, 5);
+        camera.center(0, 0);
+        Assert.assertEquals(0, camera.x(), 0);
+        Assert.assertEquals(0, camera.y(), 0);
+        // Moving inside margins does not scroll.
+        Assert.assertFalse(camera.follow(34, 14));
+        // Crossing the right margin scrolls just enough.
+        Assert.assertTrue(camera.follow(35, 14));
+        Assert.assertEquals(1, camera.x(), 0);
+        Assert.assertEquals(0, camera.y(), 0);
+        Assert.assertTrue(camera.inView(40, 19));
+        Assert.assertFalse(camera.inView(41, 19));
+        // The view never leaves the world.
+        camera.follow(199, 99);
+        Assert.assertEquals(160, camera.x(), 0);
+        Assert.assertEquals(80, camera.y(), 0);
+        Assert.assertEquals(199, camera.maxTileX());
+        Assert.assertEquals(99, camera.maxTileY());
+    }
+
+    @Test
+    public void smallWorldTest() {
+        Camera camera = new Camera(30, 10, 80, 30, 5);
+        Assert.assertEquals(30, camera.viewWidth());
+        Assert.assertEquals(10, camera.viewHeight());
+        Assert.assertFalse(camera.follow(29, 9));
+        Assert.assertEquals(0, camera.x(), 0);
+    }
+
+    @Test
+    public void unboundedTest() {
+        Camera camera = new Camera(40, 20, 5);
+        camera.center(0, 0);
+        Assert.assertEquals(-20, camera.x(), 0);
+        Assert.assertEquals(-10, camera.y(), 0);
+        // The view follows the target past where a world would end.
+        Assert.assertTrue(camera.follow(-30, 1000));
+        Assert.assertEquals(-35, camera.x(), 0);
+        Assert.assertEquals(986, camera.y(), 0);
+        Assert.assertTrue(camera.inView(-35, 1005));
+        Assert.assertEquals(4, camera.maxTileX());
+    }
+
+    @Test
+    public void smoothScrollingTest() {
+        Camera camera = new Camera(200, 100, 40, 20, 5);
+        camera.setSmoothScrolling(true);
+        Assert.assertTrue(camera.follow(100, 10));
+        Assert.assertEquals(0, camera.x(), 0);
+        double lastX = camera.x();
+        int stepCount = 0;
+        while (camera.step()) {
+            Assert.assertTrue(camera.x() > lastX);
+            lastX = camera.x();
+            stepCount++;
+        }
+        Assert.assertTrue(stepCount > 1);
+        Assert.assertEquals(66, camera.x(), 0);
+        Assert.assertFalse(camera.isScrolling());
+        // Tiles partly inside view are drawn while scrolling.
+        camera.follow(101, 10);
+        camera.step();
+        Assert.assertEquals(66, camera.minTileX());
+        Assert.assertEquals(106, camera.maxTileX());
+    }
+}
@@ -0,0 +1,115 @@
+package TileEngine;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Cells of a width x height grid changed since last repaint, each cell is recorded once.
+ * Marking all cells dirty, e.g. after regenerating the grid, drops recorded cells and asks for a full repaint.
+ */
+public class DirtyCells implements Serializable {
+    private final int width;
+    private final int height;
+    private final long[] marked; // Bitset of recorded cells, indexed by x * height + y.
+    private int[] cells; // Indices of recorded cells in marking order.
+    private int size;
+    private boolean allDirty; // Whether the whole grid needs repaint.
+
+    public DirtyCells(int width, int height) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width of grid is not positive, width: " + width);
+        }
+        if (height <= 0) {
+            throw new IllegalArgumentException("Height of grid is not positive, height: " + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.marked = new long[(int) (((long) width * height + 63) >>> 6)];
+        this.cells = new int[16];
+        this.size = 0;
+        this.allDirty = true;
+    }
+
+    /**
+     * Record cell at (x, y) as changed, cells outside grid are ignored.
+     */
+    public void mark(int x, int y) {
+        if (allDirty || x < 0 || width <= x || y < 0 || height <= y) {
+            return;
+        }
+        int index = x * height + y;
+        long bit = 1L << index;
+        if ((marked[index >>> 6] & bit) != 0) {
+            return;
+        }
+        marked[index >>> 6] |= bit;
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        cells[size] = index;
+        size++;
+    }
+
+    /**
+     * Ask for repainting the whole grid.
+     */
+    public void markAll() {
+        clearRecorded();
+        allDirty = true;
+    }
+
+    public boolean isAllDirty() {
+        return allDirty;
+    }
+
+    /**
+     * Whether anything needs repaint.
+     */
+    public boolean isEmpty() {
+        return !allDirty && size == 0;
+    }
+
+    /**
+     * Count of recorded cells, always 0 if all cells are dirty.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * X coordinate of the i-th recorded cell.
+     */
+    public int x(int i) {
+        validateIdx(i);
+        return cells[i] / height;
+    }
+
+    /**
+     * Y coordinate of the i-th recorded cell.
+     */
+    public int y(int i) {
+        validateIdx(i);
+        return cells[i] % height;
+    }
+
+    private void validateIdx(int i) {
+        if (i < 0 || size <= i) {
+            throw new IndexOutOfBoundsException("Dirty cell index " + i + " out of size " + size);
+        }
+    }
+
+    /**
+     * Forget all changes after repainting.
+     */
+    public void clear() {
+        clearRecorded();
+        allDirty = false;
+    }
+
+    private void clearRecorded() {
+        for (int i = 0; i < size; i++) {
+            marked[cells[i] >>> 6] = 0L;
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,34 @@
+package TileEngine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DirtyCellsTest {
+    @Test
+    public void markTest() {
+        DirtyCells dirtyCells = new DirtyCells(10, 5);
+        // A new grid needs full repaint.
+        Assert.assertTrue(dirtyCells.isAllDirty());
+        dirtyCells.mark(1, 1);
+        Assert.assertEquals(0, dirtyCells.size());
+        dirtyCells.clear();
+        Assert.assertTrue(dirtyCells.isEmpty());
+        dirtyCells.mark(3, 4);
+        dirtyCells.mark(9, 0);
+        dirtyCells.mark(3, 4);
+        dirtyCells.mark(10, 0); // Outside grid.
+        Assert.assertEquals(2, dirtyCells.size());
+        Assert.assertEquals(3, dirtyCells.x(0));
+        Assert.assertEquals(4, dirtyCells.y(0));
+        Assert.assertEquals(9, dirtyCells.x(1));
+        Assert.assertEquals(0, dirtyCells.y(1));
+        dirtyCells.clear();
+        Assert.assertTrue(dirtyCells.isEmpty());
+        dirtyCells.mark(3, 4);
+        Assert.assertEquals(1, dirtyCells.size());
+        dirtyCells.markAll();
+        Assert.assertTrue(dirtyCells.isAllDirty());
+        Assert.assertEquals(0, dirtyCells.size());
+        Assert.assertFalse(dirtyCells.isEmpty());
+    }
+}
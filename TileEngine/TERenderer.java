@@ -17,6 +17,7 @@ public class TERenderer {
     private int xOffset;
     private int yOffset;
     private int tileSize;
+    private TileAtlas tileAtlas; // Pre-rendered images of tiles.
 
     public void initialize(int w, int h, int xOff, int yOff, int tSize) {
         this.width = w;
@@ -29,6 +30,7 @@ public class TERenderer {
         StdDraw.setFont(font);
         StdDraw.setXscale(0, width);
         StdDraw.setYscale(0, height);
+        tileAtlas = new TileAtlas(width * tileSize, height * tileSize, 0, width, 0, height, font);
 
         StdDraw.clear(new Color(0, 0, 0));
 
@@ -101,7 +103,30 @@ public class TERenderer {
                     throw new IllegalArgumentException("Tile at position x=" + x + ", y=" + y
                             + " is null.");
                 }
-                world[x][y].draw(x + xOffset, y + yOffset);
+                tileAtlas.draw(world[x][y], x + xOffset, y + yOffset);
+            }
+        }
+        StdDraw.show();
+    }
+
+    /**
+     * Render the part of world inside view of camera, the left bottom corner of view is drawn at xOffset and yOffset.
+     * Only tiles inside view are drawn, so the cost does not depend on the size of world.
+     * @param world the 2D TETile[][] array to render
+     * @param camera view over world
+     */
+    public void renderFrame(TETile[][] world, Camera camera) {
+        if (camera == null) {
+            throw new IllegalArgumentException("Cannot render frame with null camera.");
+        }
+        StdDraw.clear(new Color(0, 0, 0));
+        for (int x = camera.minTileX(); x <= camera.maxTileX(); x += 1) {
+            for (int y = camera.minTileY(); y <= camera.maxTileY(); y += 1) {
+                if (world[x][y] == null) {
+                    throw new IllegalArgumentException("Tile at position x=" + x + ", y=" + y
+                            + " is null.");
+                }
+                tileAtlas.draw(world[x][y], x - camera.x() + xOffset, y - camera.y() + yOffset);
             }
         }
         StdDraw.show();
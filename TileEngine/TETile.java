@@ -3,6 +3,7 @@ package TileEngine;
 import java.awt.Color;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Random;
 
 import edu.princeton.cs.introcs.StdDraw;
@@ -20,6 +21,9 @@ import Core.RandomUtils;
  *
  * The provided TETile is immutable, i.e. none of its instance variables can change. You are welcome
  * to make your TETile class mutable, if you prefer.
+ *
+ * Tiles can be interned into one canonical tile per distinct tile, with a small id. Interned tiles
+ * are compared by identity, and deserialized tiles are resolved to the interned ones.
  */
 
 public class TETile implements Serializable {
@@ -28,6 +32,15 @@ public class TETile implements Serializable {
     private final Color backgroundColor;
     private final String description;
     private final String filepath;
+    private final int hash; // Cached hash code.
+    /**
+     * Id of the interned tile plus one, 0 if the tile is not interned, also for deserialized tiles.
+     */
+    private final transient int internId;
+    /**
+     * Canonical tile of each distinct tile, guarded by itself.
+     */
+    private static final HashMap<TETile, TETile> INTERNED_TILES = new HashMap<>();
 
     /**
      * Full constructor for TETile objects.
@@ -44,6 +57,8 @@ public class TETile implements Serializable {
         this.backgroundColor = backgroundColor;
         this.description = description;
         this.filepath = filepath;
+        this.hash = computeHash();
+        this.internId = 0;
     }
 
     /**
@@ -60,6 +75,8 @@ public class TETile implements Serializable {
         this.backgroundColor = backgroundColor;
         this.description = description;
         this.filepath = null;
+        this.hash = computeHash();
+        this.internId = 0;
     }
 
     /**
@@ -71,6 +88,60 @@ public class TETile implements Serializable {
         this(t.character, textColor, t.backgroundColor, t.description, t.filepath);
     }
 
+    /**
+     * Canonical copy of tile t with id.
+     */
+    private TETile(TETile t, int id) {
+        this.character = t.character;
+        this.textColor = t.textColor;
+        this.backgroundColor = t.backgroundColor;
+        this.description = t.description;
+        this.filepath = t.filepath;
+        this.hash = t.hash;
+        this.internId = id + 1;
+    }
+
+    /**
+     * Canonical tile equal to tile, the first interned one of equal tiles. Interned tiles are never released.
+     * @param tile the tile to intern.
+     * @return the interned tile.
+     */
+    public static TETile intern(TETile tile) {
+        if (tile == null) {
+            throw new IllegalArgumentException("Cannot intern null tile.");
+        }
+        if (tile.internId != 0) {
+            return tile;
+        }
+        synchronized (INTERNED_TILES) {
+            TETile interned = INTERNED_TILES.get(tile);
+            if (interned == null) {
+                interned = new TETile(tile, INTERNED_TILES.size());
+                INTERNED_TILES.put(interned, interned);
+            }
+            return interned;
+        }
+    }
+
+    /**
+     * Id of the interned tile, distinct for distinct tiles and small, but only stable in one run.
+     * @return id of the tile, -1 if the tile is not interned.
+     */
+    public int id() {
+        return internId - 1;
+    }
+
+    public boolean isInterned() {
+        return internId != 0;
+    }
+
+    /**
+     * Deserialized tile is replaced by the interned tile.
+     */
+    private Object readResolve() {
+        return intern(this);
+    }
+
     /**
      * Draws the tile to the screen at location x, y. If a valid filepath is provided,
      * we draw the image located at that filepath to the screen. Otherwise, we fall
@@ -114,6 +185,30 @@ public class TETile implements Serializable {
         return description;
     }
 
+    /**
+     * Color of the character of the tile.
+     * @return text color of the tile
+     */
+    public Color textColor() {
+        return textColor;
+    }
+
+    /**
+     * Color filling the square of the tile.
+     * @return background color of the tile
+     */
+    public Color backgroundColor() {
+        return backgroundColor;
+    }
+
+    /**
+     * Path of the image drawn for the tile instead of its character.
+     * @return image path of the tile, null if the tile is drawn as a character
+     */
+    public String filepath() {
+        return filepath;
+    }
+
     /**
      * Creates a copy of the given tile with a slightly different text color. The new
      * color will have a red value that is within dr of the current red value,
@@ -199,6 +294,13 @@ public class TETile implements Serializable {
             return false;
         }
         TETile otherTile = (TETile) other;
+        // Interned tiles are distinct objects only if they are different tiles.
+        if (internId != 0 && otherTile.internId != 0) {
+            return false;
+        }
+        if (hash != otherTile.hash) {
+            return false;
+        }
         boolean filePathSame;
         if (filepath != null) {
             filePathSame = filepath.equals(otherTile.filepath);
@@ -212,6 +314,10 @@ public class TETile implements Serializable {
 
     @Override
     public int hashCode() {
+        return hash;
+    }
+
+    private int computeHash() {
         final int BASE = 31;
         int result = 17;
         result = BASE * result + Character.hashCode(character);
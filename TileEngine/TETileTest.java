@@ -0,0 +1,49 @@
+package TileEngine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+public class TETileTest {
+    @Test
+    public void internTest() {
+        TETile wall = new TETile('#', new Color(216, 128, 128), Color.darkGray, "wall");
+        Assert.assertFalse(wall.isInterned());
+        Assert.assertEquals(-1, wall.id());
+        Assert.assertSame(Tileset.WALL, TETile.intern(wall));
+        Assert.assertEquals(Tileset.WALL, wall);
+        Assert.assertEquals(Tileset.WALL.hashCode(), wall.hashCode());
+        Assert.assertTrue(Tileset.WALL.isInterned());
+        Assert.assertNotEquals(Tileset.WALL.id(), Tileset.FLOOR.id());
+        Assert.assertNotEquals(Tileset.WALL, Tileset.FLOOR);
+        // Tiles equal in everything but description are different.
+        TETile sand = TETile.intern(new TETile('▒', Color.yellow, Color.black, "sand"));
+        Assert.assertSame(Tileset.SAND, sand);
+        Assert.assertNotEquals(Tileset.SAND, Tileset.GOAL);
+    }
+
+    @Test
+    public void readResolveTest() throws IOException, ClassNotFoundException {
+        TETile[] tiles = {Tileset.FLOOR, new TETile('#', new Color(216, 128, 128), Color.darkGray, "wall"),
+                new TETile('x', Color.red, Color.black, "test tile")};
+        ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutStream = new ObjectOutputStream(outStream)) {
+            objectOutStream.writeObject(tiles);
+        }
+        TETile[] readTiles;
+        try (ObjectInputStream objectInStream = new ObjectInputStream(
+                new ByteArrayInputStream(outStream.toByteArray()))) {
+            readTiles = (TETile[]) objectInStream.readObject();
+        }
+        Assert.assertSame(Tileset.FLOOR, readTiles[0]);
+        Assert.assertSame(Tileset.WALL, readTiles[1]);
+        Assert.assertTrue(readTiles[2].isInterned());
+        Assert.assertSame(readTiles[2], TETile.intern(tiles[2]));
+    }
+}
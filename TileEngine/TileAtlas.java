@@ -0,0 +1,171 @@
+package TileEngine;
+
+import edu.princeton.cs.introcs.StdDraw;
+
+import javax.imageio.ImageIO;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.util.IdentityHashMap;
+
+/**
+ * Cache of pre-rendered tile images. Each distinct tile is rasterized once, the same way as TETile.draw
+ * draws it, and afterward drawing the tile only copies its image into the back buffer of StdDraw,
+ * instead of filling square and laying out text of the tile every frame.
+ *
+ * StdDraw does not expose its back buffer, so it is reached by reflection. If that fails,
+ * drawing falls back to TETile.draw.
+ */
+public class TileAtlas {
+    private static Field offscreenField; // Back buffer graphics of StdDraw.
+    private static boolean offscreenFieldResolved;
+    private final int canvasWidth; // Width of canvas in pixels.
+    private final int canvasHeight; // Height of canvas in pixels.
+    private final double minX; // X scale of canvas.
+    private final double maxX;
+    private final double minY; // Y scale of canvas.
+    private final double maxY;
+    private final int cellWidth; // Width of tile image in pixels.
+    private final int cellHeight; // Height of tile image in pixels.
+    private final Font font; // Font of tile characters.
+    private final IdentityHashMap<TETile, BufferedImage> tileImages;
+
+    /**
+     * Create atlas for canvas of canvasWidth x canvasHeight pixels whose scale is from (minX, minY) to (maxX, maxY),
+     * each tile occupies 1 x 1 in the scale.
+     */
+    public TileAtlas(int canvasWidth, int canvasHeight, double minX, double maxX, double minY, double maxY, Font font) {
+        if (canvasWidth <= 0 || canvasHeight <= 0) {
+            throw new IllegalArgumentException("Size of canvas must be positive, width = " + canvasWidth
+                    + ", height = " + canvasHeight);
+        }
+        if (maxX <= minX || maxY <= minY) {
+            throw new IllegalArgumentException("Invalid scale, minX = " + minX + ", maxX = " + maxX
+                    + ", minY = " + minY + ", maxY = " + maxY);
+        }
+        if (font == null) {
+            throw new IllegalArgumentException("Cannot create atlas with null font.");
+        }
+        this.canvasWidth = canvasWidth;
+        this.canvasHeight = canvasHeight;
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.cellWidth = Math.max(1, (int) Math.ceil(canvasWidth / (maxX - minX)));
+        this.cellHeight = Math.max(1, (int) Math.ceil(canvasHeight / (maxY - minY)));
+        this.font = font;
+        this.tileImages = new IdentityHashMap<>();
+    }
+
+    /**
+     * Image of tile, rasterized at the first request.
+     */
+    public BufferedImage imageOf(TETile tile) {
+        if (tile == null) {
+            throw new IllegalArgumentException("Cannot get image of null tile.");
+        }
+        BufferedImage image = tileImages.get(tile);
+        if (image == null) {
+            image = rasterize(tile);
+            tileImages.put(tile, image);
+        }
+        return image;
+    }
+
+    private BufferedImage rasterize(TETile tile) {
+        BufferedImage image = new BufferedImage(cellWidth, cellHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            if (tile.filepath() != null) {
+                BufferedImage picture = readPicture(tile.filepath());
+                if (picture != null) {
+                    // Centered without resizing, the same as StdDraw.picture.
+                    graphics.drawImage(picture, (cellWidth - picture.getWidth()) / 2,
+                            (cellHeight - picture.getHeight()) / 2, null);
+                    return image;
+                }
+            }
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(tile.backgroundColor());
+            graphics.fillRect(0, 0, cellWidth, cellHeight);
+            // Centered text, the same as StdDraw.text.
+            graphics.setColor(tile.textColor());
+            graphics.setFont(font);
+            FontMetrics metrics = graphics.getFontMetrics();
+            String text = Character.toString(tile.character());
+            int textWidth = metrics.stringWidth(text);
+            int descent = metrics.getDescent();
+            graphics.drawString(text, (float) (cellWidth / 2.0 - textWidth / 2.0), (float) (cellHeight / 2.0 + descent));
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Read picture file of tile.
+     * @return the picture, null if the file cannot be read.
+     */
+    private static BufferedImage readPicture(String filepath) {
+        try {
+            File file = new File(filepath);
+            if (file.isFile()) {
+                return ImageIO.read(file);
+            }
+            URL url = TileAtlas.class.getResource(filepath);
+            if (url != null) {
+                return ImageIO.read(url);
+            }
+        } catch (IOException e) {
+            // Fail silently and use the character and colors of tile, the same as TETile.draw.
+        }
+        return null;
+    }
+
+    /**
+     * Draw tile with its left bottom corner at (x, y) in canvas scale.
+     */
+    public void draw(TETile tile, double x, double y) {
+        Graphics2D backBuffer = stdDrawBackBuffer();
+        if (backBuffer == null) {
+            tile.draw(x, y);
+            return;
+        }
+        int pixelX = (int) Math.floor((x - minX) * canvasWidth / (maxX - minX));
+        int pixelY = (int) Math.floor(canvasHeight - (y + 1 - minY) * canvasHeight / (maxY - minY));
+        backBuffer.drawImage(imageOf(tile), pixelX, pixelY, null);
+    }
+
+    /**
+     * Back buffer graphics of StdDraw, it is replaced whenever the canvas size of StdDraw changes.
+     * @return graphics of back buffer, null if it cannot be accessed.
+     */
+    private static Graphics2D stdDrawBackBuffer() {
+        if (!offscreenFieldResolved) {
+            offscreenFieldResolved = true;
+            try {
+                Field field = StdDraw.class.getDeclaredField("offscreen");
+                field.setAccessible(true);
+                offscreenField = field;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                offscreenField = null;
+            }
+        }
+        if (offscreenField == null) {
+            return null;
+        }
+        try {
+            return (Graphics2D) offscreenField.get(null);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
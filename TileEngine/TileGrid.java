@@ -0,0 +1,274 @@
+package TileEngine;
+
+import Core.GridMask;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 2D grid of tiles stored as tile ids of a palette, the cell at (x, y) is kept at index x * height + y.
+ * TETile[][] is only built when requested by toTiles.
+ * Blocking cells are kept in a mask updated on every write, so path finding reads them without scanning tiles.
+ */
+public class TileGrid implements Serializable {
+    private final int width; // Cell count in x direction.
+    private final int height; // Cell count in y direction.
+    private final short[] ids; // Tile id of each cell.
+    private final TilePalette palette; // Tiles of ids.
+    private final GridMask blockingMask; // Cells whose tile cannot be passed.
+    private long blockingVersion; // Incremented whenever blocking mask may have changed.
+
+    /**
+     * Create grid with all cells filled with tile.
+     */
+    public TileGrid(int width, int height, TilePalette palette, TETile tile) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width of grid is not positive, width: " + width);
+        }
+        if (height <= 0) {
+            throw new IllegalArgumentException("Height of grid is not positive, height: " + height);
+        }
+        if (palette == null) {
+            throw new IllegalArgumentException("Cannot create grid with null palette.");
+        }
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid is too large, width: " + width + ", height: " + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.ids = new short[width * height];
+        this.palette = palette;
+        this.blockingMask = new GridMask(width, height);
+        fill(tile);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public TilePalette palette() {
+        return palette;
+    }
+
+    /**
+     * Cells whose tile cannot be passed, kept up to date by writes of this grid, callers must not modify it.
+     */
+    public GridMask blockingMask() {
+        return blockingMask;
+    }
+
+    /**
+     * Version of blocking mask, different versions may have different blocking cells,
+     * letting caches of blocking cells, e.g. visibility, know when to be rebuilt.
+     */
+    public long blockingVersion() {
+        return blockingVersion;
+    }
+
+    /**
+     * Rebuild blocking mask after blocking flags of palette are changed.
+     */
+    public void refreshBlockingMask() {
+        for (int index = 0; index < ids.length; index++) {
+            blockingMask.setIndex(index, palette.isBlocking(ids[index]));
+        }
+        blockingVersion++;
+    }
+
+    /**
+     * Set blocking of cell at packed index, counting a new version if it changes.
+     */
+    private void setBlocking(int index, boolean isBlocking) {
+        if (blockingMask.getIndex(index) != isBlocking) {
+            blockingMask.setIndex(index, isBlocking);
+            blockingVersion++;
+        }
+    }
+
+    /**
+     * Packed index of cell at (x, y).
+     */
+    public int index(int x, int y) {
+        return x * height + y;
+    }
+
+    public boolean inBoundary(int x, int y) {
+        return 0 <= x && x < width && 0 <= y && y < height;
+    }
+
+    private void validatePosition(int x, int y) {
+        if (!inBoundary(x, y)) {
+            throw new IndexOutOfBoundsException("Position (" + x + ", " + y + ") out of grid "
+                    + width + "x" + height);
+        }
+    }
+
+    /**
+     * Tile id of cell at (x, y).
+     */
+    public short idAt(int x, int y) {
+        validatePosition(x, y);
+        return ids[index(x, y)];
+    }
+
+    /**
+     * Tile of cell at (x, y).
+     */
+    public TETile tileAt(int x, int y) {
+        return palette.tileOf(idAt(x, y));
+    }
+
+    /**
+     * Whether the tile of cell at (x, y) cannot be passed.
+     */
+    public boolean isBlocking(int x, int y) {
+        validatePosition(x, y);
+        return blockingMask.getIndex(index(x, y));
+    }
+
+    public void setId(int x, int y, short id) {
+        validatePosition(x, y);
+        palette.tileOf(id); // Validate id.
+        int index = index(x, y);
+        ids[index] = id;
+        setBlocking(index, palette.isBlocking(id));
+    }
+
+    public void setTile(int x, int y, TETile tile) {
+        validatePosition(x, y);
+        short id = palette.idOf(tile);
+        int index = index(x, y);
+        ids[index] = id;
+        setBlocking(index, palette.isBlocking(id));
+    }
+
+    /**
+     * Tile id of cell at packed index, see index(x, y).
+     */
+    public short idAtIndex(int index) {
+        if (index < 0 || ids.length <= index) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of grid " + width + "x" + height);
+        }
+        return ids[index];
+    }
+
+    /**
+     * End (exclusive) of the run of cells having the same tile id as the cell at packed index fromIndex.
+     */
+    public int runEnd(int fromIndex) {
+        short id = idAtIndex(fromIndex);
+        int index = fromIndex + 1;
+        while (index < ids.length && ids[index] == id) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Set tile id of cells at packed index from fromIndex (inclusive) to toIndex (exclusive).
+     */
+    public void fillRange(int fromIndex, int toIndex, short id) {
+        if (fromIndex < 0 || toIndex > ids.length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") out of grid "
+                    + width + "x" + height);
+        }
+        palette.tileOf(id); // Validate id.
+        Arrays.fill(ids, fromIndex, toIndex, id);
+        blockingMask.setRange(fromIndex, toIndex, palette.isBlocking(id));
+        blockingVersion++;
+    }
+
+    /**
+     * Fill all cells with tile.
+     */
+    public void fill(TETile tile) {
+        short id = palette.idOf(tile);
+        Arrays.fill(ids, id);
+        blockingMask.setRange(0, ids.length, palette.isBlocking(id));
+        blockingVersion++;
+    }
+
+    /**
+     * Replace all cells with tiles, the size of tiles must be the same as this grid.
+     */
+    public void copyFrom(TETile[][] tiles) {
+        if (tiles == null) {
+            throw new IllegalArgumentException("Cannot copy from null tiles.");
+        }
+        if (tiles.length != width || tiles[0].length != height) {
+            throw new IllegalArgumentException("Size of tiles " + tiles.length + "x" + tiles[0].length
+                    + " is different from grid " + width + "x" + height);
+        }
+        TETile lastTile = null;
+        short lastId = 0;
+        boolean lastBlocking = false;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                TETile tile = tiles[x][y];
+                // Neighbor cells are mostly the same tile, skip hashing for them.
+                if (tile != lastTile) {
+                    lastTile = tile;
+                    lastId = palette.idOf(tile);
+                    lastBlocking = palette.isBlocking(lastId);
+                }
+                int index = index(x, y);
+                ids[index] = lastId;
+                blockingMask.setIndex(index, lastBlocking);
+            }
+        }
+        blockingVersion++;
+    }
+
+    /**
+     * Create grid holding tiles, with ids of palette.
+     */
+    public static TileGrid of(TETile[][] tiles, TilePalette palette) {
+        if (tiles == null || tiles.length == 0) {
+            throw new IllegalArgumentException("Cannot create grid of null or empty tiles.");
+        }
+        TileGrid grid = new TileGrid(tiles.length, tiles[0].length, palette, tiles[0][0]);
+        grid.copyFrom(tiles);
+        return grid;
+    }
+
+    /**
+     * Write all cells into tiles, the size of tiles must be the same as this grid.
+     */
+    public void copyTo(TETile[][] tiles) {
+        if (tiles == null) {
+            throw new IllegalArgumentException("Cannot copy to null tiles.");
+        }
+        if (tiles.length != width || tiles[0].length != height) {
+            throw new IllegalArgumentException("Size of tiles " + tiles.length + "x" + tiles[0].length
+                    + " is different from grid " + width + "x" + height);
+        }
+        TETile[][] gridTiles = toTiles();
+        for (int x = 0; x < width; x++) {
+            System.arraycopy(gridTiles[x], 0, tiles[x], 0, height);
+        }
+    }
+
+    /**
+     * Build 2D tiles of this grid.
+     */
+    public TETile[][] toTiles() {
+        TETile[][] tiles = new TETile[width][height];
+        int paletteSize = palette.size();
+        TETile[] tileOfId = new TETile[paletteSize];
+        for (int id = 0; id < paletteSize; id++) {
+            tileOfId[id] = palette.tileOf((short) id);
+        }
+        for (int x = 0; x < width; x++) {
+            int offset = x * height;
+            TETile[] column = tiles[x];
+            for (int y = 0; y < height; y++) {
+                column[y] = tileOfId[ids[offset + y]];
+            }
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,73 @@
+package TileEngine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TileGridTest {
+    @Test
+    public void paletteTest() {
+        TilePalette palette = new TilePalette();
+        short floorId = palette.idOf(Tileset.FLOOR);
+        short wallId = palette.idOf(Tileset.WALL);
+        Assert.assertNotEquals(floorId, wallId);
+        Assert.assertEquals(floorId, palette.idOf(Tileset.FLOOR));
+        Assert.assertEquals(Tileset.WALL, palette.tileOf(wallId));
+        Assert.assertEquals(2, palette.size());
+        palette.setBlocking(Tileset.WALL, true);
+        Assert.assertTrue(palette.isBlocking(wallId));
+        Assert.assertFalse(palette.isBlocking(floorId));
+        palette.setBlocking(Tileset.WALL, false);
+        Assert.assertFalse(palette.isBlocking(wallId));
+    }
+
+    @Test
+    public void gridTest() {
+        TilePalette palette = new TilePalette();
+        palette.setBlocking(Tileset.WALL, true);
+        TileGrid grid = new TileGrid(3, 2, palette, Tileset.NOTHING);
+        grid.setTile(2, 1, Tileset.WALL);
+        grid.setTile(0, 1, Tileset.FLOOR);
+        Assert.assertEquals(Tileset.WALL, grid.tileAt(2, 1));
+        Assert.assertTrue(grid.isBlocking(2, 1));
+        Assert.assertFalse(grid.isBlocking(0, 1));
+        TETile[][] tiles = grid.toTiles();
+        Assert.assertEquals(3, tiles.length);
+        Assert.assertEquals(2, tiles[0].length);
+        Assert.assertEquals(Tileset.FLOOR, tiles[0][1]);
+        Assert.assertEquals(Tileset.NOTHING, tiles[1][0]);
+        tiles[1][0] = Tileset.GRASS;
+        TileGrid copiedGrid = new TileGrid(3, 2, palette, Tileset.NOTHING);
+        copiedGrid.copyFrom(tiles);
+        Assert.assertEquals(TETile.toString(tiles), TETile.toString(copiedGrid.toTiles()));
+    }
+
+    @Test
+    public void blockingMaskTest() {
+        TilePalette palette = new TilePalette();
+        palette.setBlocking(Tileset.WALL, true);
+        TileGrid grid = new TileGrid(4, 5, palette, Tileset.WALL);
+        Assert.assertEquals(20, grid.blockingMask().cardinality());
+        grid.fill(Tileset.FLOOR);
+        Assert.assertEquals(0, grid.blockingMask().cardinality());
+        TileUtils.fillCol(grid, Tileset.WALL, 1, -1, 2);
+        TileUtils.fillRow(grid, Tileset.WALL, 4, 2, 9);
+        grid.setTile(0, 0, Tileset.WALL);
+        grid.setTile(1, 0, Tileset.FLOOR);
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 5; y++) {
+                Assert.assertEquals(grid.tileAt(x, y).equals(Tileset.WALL), grid.blockingMask().get(x, y));
+            }
+        }
+        Assert.assertEquals(5, grid.blockingMask().cardinality());
+        // Flags changed after tiles are set need refreshing.
+        palette.setBlocking(Tileset.FLOOR, true);
+        grid.refreshBlockingMask();
+        Assert.assertEquals(20, grid.blockingMask().cardinality());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfBoundaryTest() {
+        TileGrid grid = new TileGrid(3, 2, new TilePalette(), Tileset.NOTHING);
+        grid.tileAt(3, 0);
+    }
+}
@@ -0,0 +1,92 @@
+package TileEngine;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Mapping between small ids and distinct tiles, so grids of tiles can be stored as ids.
+ * Each id also carries a blocking flag, telling whether the tile cannot be passed,
+ * letting passability checks be bit lookups instead of hashing tiles.
+ */
+public class TilePalette implements Serializable {
+    public static final int MAX_TILE_COUNT = Short.MAX_VALUE + 1;
+    private final ArrayList<TETile> tiles; // Tile of each id.
+    private final HashMap<TETile, Short> ids; // Id of each tile.
+    private long[] blocking; // Bitset of blocking ids.
+
+    public TilePalette() {
+        this.tiles = new ArrayList<>();
+        this.ids = new HashMap<>();
+        this.blocking = new long[1];
+    }
+
+    /**
+     * Id of tile, registering the tile if it is not in this palette yet.
+     * @param tile the tile to look up.
+     * @return id of the tile.
+     */
+    public short idOf(TETile tile) {
+        if (tile == null) {
+            throw new IllegalArgumentException("Cannot get id of null tile.");
+        }
+        Short id = ids.get(tile);
+        if (id != null) {
+            return id;
+        }
+        if (tiles.size() >= MAX_TILE_COUNT) {
+            throw new IllegalStateException("Palette is full, cannot register more than " + MAX_TILE_COUNT + " tiles.");
+        }
+        short newId = (short) tiles.size();
+        tiles.add(tile);
+        ids.put(tile, newId);
+        if (blocking.length * 64 <= newId) {
+            blocking = Arrays.copyOf(blocking, blocking.length * 2);
+        }
+        return newId;
+    }
+
+    /**
+     * Whether the tile is registered in this palette.
+     */
+    public boolean contains(TETile tile) {
+        return ids.containsKey(tile);
+    }
+
+    /**
+     * Tile of id.
+     */
+    public TETile tileOf(short id) {
+        if (id < 0 || tiles.size() <= id) {
+            throw new IllegalArgumentException("No tile of id " + id + " in palette.");
+        }
+        return tiles.get(id);
+    }
+
+    /**
+     * Count of registered tiles.
+     */
+    public int size() {
+        return tiles.size();
+    }
+
+    /**
+     * Mark tile as blocking or not, registering the tile if it is not in this palette yet.
+     */
+    public void setBlocking(TETile tile, boolean isBlocking) {
+        short id = idOf(tile);
+        if (isBlocking) {
+            blocking[id >>> 6] |= 1L << id;
+        } else {
+            blocking[id >>> 6] &= ~(1L << id);
+        }
+    }
+
+    /**
+     * Whether the tile of id cannot be passed.
+     */
+    public boolean isBlocking(short id) {
+        return (blocking[id >>> 6] & (1L << id)) != 0;
+    }
+}
@@ -68,4 +68,46 @@ public class TileUtils {
             tiles[x][y] = tile;
         }
     }
+
+    /**
+     * Fill the grid at row from startCol to endCol with tile.
+     */
+    public static void fillRow(TileGrid grid, TETile tile, int y, int startX, int endX) {
+        if (grid == null) {
+            throw new IllegalArgumentException("Cannot fill in null grid.");
+        }
+        if (tile == null) {
+            throw new IllegalArgumentException("Cannot fill null tile on grid.");
+        }
+        if (y < 0 || grid.height() <= y) {
+            return;
+        }
+        startX = Math.max(startX, 0);
+        endX = Math.min(endX, grid.width() - 1);
+        short id = grid.palette().idOf(tile);
+        for (int x = startX; x <= endX; x++) {
+            grid.setId(x, y, id);
+        }
+    }
+
+    /**
+     * Fill the grid at col from startRow to endRow with tile, cells of a column are contiguous in grid.
+     */
+    public static void fillCol(TileGrid grid, TETile tile, int x, int startY, int endY) {
+        if (grid == null) {
+            throw new IllegalArgumentException("Cannot fill in null grid.");
+        }
+        if (tile == null) {
+            throw new IllegalArgumentException("Cannot fill null tile on grid.");
+        }
+        if (x < 0 || grid.width() <= x) {
+            return;
+        }
+        startY = Math.max(startY, 0);
+        endY = Math.min(endY, grid.height() - 1);
+        if (endY < startY) {
+            return;
+        }
+        grid.fillRange(grid.index(x, startY), grid.index(x, endY) + 1, grid.palette().idOf(tile));
+    }
 }
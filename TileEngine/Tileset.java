@@ -17,22 +17,24 @@ import java.awt.Color;
  */
 
 public class Tileset {
-    public static final TETile AVATAR = new TETile('@', Color.white, Color.black, "you");
-    public static final TETile WALL = new TETile('#', new Color(216, 128, 128), Color.darkGray,
-            "wall");
-    public static final TETile FLOOR = new TETile('·', new Color(128, 192, 128), Color.black,
-            "floor");
-    public static final TETile NOTHING = new TETile(' ', Color.black, Color.black, "nothing");
-    public static final TETile GRASS = new TETile('"', Color.green, Color.black, "grass");
-    public static final TETile WATER = new TETile('≈', Color.blue, Color.black, "water");
-    public static final TETile FLOWER = new TETile('❀', Color.magenta, Color.pink, "flower");
-    public static final TETile LOCKED_DOOR = new TETile('█', Color.orange, Color.black,
-            "locked door");
-    public static final TETile UNLOCKED_DOOR = new TETile('▢', Color.orange, Color.black,
-            "unlocked door");
-    public static final TETile SAND = new TETile('▒', Color.yellow, Color.black, "sand");
-    public static final TETile MOUNTAIN = new TETile('▲', Color.gray, Color.black, "mountain");
-    public static final TETile TREE = new TETile('♠', Color.green, Color.black, "tree");
+    // Tiles are interned, so that equal tiles loaded or deserialized are these objects.
+    public static final TETile AVATAR = TETile.intern(new TETile('@', Color.white, Color.black, "you"));
+    public static final TETile WALL = TETile.intern(new TETile('#', new Color(216, 128, 128), Color.darkGray,
+            "wall"));
+    public static final TETile FLOOR = TETile.intern(new TETile('·', new Color(128, 192, 128), Color.black,
+            "floor"));
+    public static final TETile NOTHING = TETile.intern(new TETile(' ', Color.black, Color.black, "nothing"));
+    public static final TETile GRASS = TETile.intern(new TETile('"', Color.green, Color.black, "grass"));
+    public static final TETile WATER = TETile.intern(new TETile('≈', Color.blue, Color.black, "water"));
+    public static final TETile FLOWER = TETile.intern(new TETile('❀', Color.magenta, Color.pink, "flower"));
+    public static final TETile LOCKED_DOOR = TETile.intern(new TETile('█', Color.orange, Color.black,
+            "locked door"));
+    public static final TETile UNLOCKED_DOOR = TETile.intern(new TETile('▢', Color.orange, Color.black,
+            "unlocked door"));
+    public static final TETile SAND = TETile.intern(new TETile('▒', Color.yellow, Color.black, "sand"));
+    public static final TETile MOUNTAIN = TETile.intern(new TETile('▲', Color.gray, Color.black, "mountain"));
+    public static final TETile TREE = TETile.intern(new TETile('♠', Color.green, Color.black, "tree"));
+    public static final TETile GOAL = TETile.intern(new TETile('▒', Color.yellow, Color.black, "goal"));
 }
 
 
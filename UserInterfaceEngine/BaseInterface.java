@@ -8,6 +8,7 @@ import java.util.NoSuchElementException;
 abstract class BaseInterface implements UserInterface {
     Config config;
     UserInterface nextUserInterface;
+    boolean quitRequested; // Whether the user quits the game in this frame.
 
     public BaseInterface (Config config) {
         if (config == null) {
@@ -18,6 +19,7 @@ abstract class BaseInterface implements UserInterface {
             initializeCanvas();
         }
         this.nextUserInterface = null;
+        this.quitRequested = false;
     }
 
     private void initializeCanvas() {
@@ -37,6 +39,11 @@ abstract class BaseInterface implements UserInterface {
         return this.config.frameHeight;
     }
 
+    @Override
+    public boolean quitRequested() {
+        return quitRequested;
+    }
+
     @Override
     public boolean possibleNextInterface() {
         return nextUserInterface != null;
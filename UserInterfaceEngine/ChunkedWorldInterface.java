@@ -0,0 +1,351 @@
+package UserInterfaceEngine;
+
+import Core.Config;
+import Entity.ChunkedWorld;
+import Entity.ChunkedWorldFile;
+import Input.InputDevice;
+import Shape.Direction;
+import TileEngine.Camera;
+import TileEngine.TETile;
+import TileEngine.TileAtlas;
+import edu.princeton.cs.introcs.StdDraw;
+
+import java.awt.*;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface playing a chunked world, the view scrolls over the world without bounds.
+ * Unlike WorldInterface, the whole view is drawn without fog of war, and the world is saved as a ChunkedWorldFile.
+ */
+public class ChunkedWorldInterface extends BaseInterface {
+    /**
+     * Status bar height in row count.
+     */
+    private final int STATUS_BAR_ROW_COUNT = 1;
+    /**
+     * Key, if pressed, trigger the userInterface into query command mode.
+     */
+    private final char QUERY_COMMAND_KEY = ':';
+    /**
+     * Command for quitting game.
+     */
+    private final char QUIT_GAME_COMMAND = 'q';
+    /**
+     * Interval of checking whether status bar changes, e.g. description of tile under mouse.
+     */
+    private final long STATUS_REFRESH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    /**
+     * Shortest interval between frames, changes within the interval are shown together in one frame.
+     */
+    private final long FRAME_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+    /**
+     * Message of ending dialog when the user finds the goal.
+     */
+    private final String GOAL_FOUND_MESSAGE = "Congratulation! You find the treasure!";
+    /**
+     * Boundary coordinate of canvas.
+     */
+    private final int minX;
+    private final int maxX;
+    private final int minY;
+    private final int maxY;
+    /**
+     * Side size of tile(square) in pixel.
+     */
+    private final int tileSize;
+    private final ChunkedWorld world;
+    private final Camera camera; // View over world following the user.
+    private TileAtlas tileAtlas; // Pre-rendered images of tiles, null if interface is hidden.
+    private final HashMap<Character, Direction> directionKeyMap;
+    private boolean inQueryCommandMode;
+    private boolean inEndingDialogMode;
+    private boolean endingDialogDrawn; // Whether ending dialog is drawn over current tiles of world.
+    private boolean viewDirty; // Whether tiles inside view change since the last frame.
+    private boolean statusDirty; // Whether status bar changes since the last frame.
+    private int hoveredX; // X of the cell under mouse when status is drawn.
+    private int hoveredY; // Y of the cell under mouse when status is drawn.
+    private TETile hoveredTile; // Tile of the hovered cell when status is drawn, null if none.
+    private final StringBuilder inputCommandSB;
+
+    public ChunkedWorldInterface(Config config, long seed) {
+        this(config, new ChunkedWorld(seed));
+    }
+
+    public ChunkedWorldInterface(Config config, ChunkedWorld world) {
+        super(config);
+        if (world == null) {
+            throw new IllegalArgumentException("Cannot instantiate chunked world userInterface with null world.");
+        }
+        this.world = world;
+        this.camera = new Camera(config.viewWidth, config.viewHeight, config.cameraMargin);
+        Point userPosition = world.userPosition();
+        camera.center(userPosition.x, userPosition.y);
+        camera.setSmoothScrolling(config.smoothScrolling);
+        this.minX = 0;
+        this.maxX = camera.viewWidth();
+        this.minY = 0;
+        this.maxY = camera.viewHeight() + STATUS_BAR_ROW_COUNT;
+        this.tileSize = Math.min(width() / (maxX - minX), height() / (maxY - minY));
+        this.directionKeyMap = new HashMap<>();
+        this.inputCommandSB = new StringBuilder();
+        initialize();
+    }
+
+    private void initialize() {
+        directionKeyMap.put('w', Direction.TOP);
+        directionKeyMap.put('d', Direction.RIGHT);
+        directionKeyMap.put('s', Direction.BOTTOM);
+        directionKeyMap.put('a', Direction.LEFT);
+        inQueryCommandMode = false;
+        inEndingDialogMode = false;
+        endingDialogDrawn = false;
+        viewDirty = true;
+        statusDirty = true;
+        hoveredTile = null;
+        inputCommandSB.setLength(0);
+        if (!config.hideInterface) {
+            StdDraw.setCanvasSize(width(), height());
+            StdDraw.setXscale(minX, maxX);
+            StdDraw.setYscale(minY, maxY);
+            final Font TILE_FONT = new Font("Monaco", Font.BOLD, tileSize - 2);
+            tileAtlas = new TileAtlas(width(), height(), minX, maxX, minY, maxY, TILE_FONT);
+        }
+    }
+
+    /**
+     * Update hovered cell to the cell under mouse, and hovered tile to its current tile.
+     * @return True, if the hovered cell or its tile changes.
+     */
+    private boolean updateHover() {
+        int tileX = (int) Math.floor(StdDraw.mouseX() + camera.x());
+        int tileY = (int) Math.floor(StdDraw.mouseY() + camera.y());
+        TETile tile = null;
+        if (camera.inView(tileX, tileY) && StdDraw.mouseY() < maxY - STATUS_BAR_ROW_COUNT) {
+            tile = world.tileAt(tileX, tileY);
+        }
+        boolean changed = tileX != hoveredX || tileY != hoveredY || tile != hoveredTile;
+        hoveredX = tileX;
+        hoveredY = tileY;
+        hoveredTile = tile;
+        return changed;
+    }
+
+    /**
+     * Text of status bar, the command being typed, or description of the hovered cell.
+     */
+    private String statusText() {
+        if (inQueryCommandMode) {
+            return inputCommandSB.toString();
+        }
+        updateHover();
+        if (hoveredTile == null) {
+            return "";
+        }
+        return hoveredTile.description();
+    }
+
+    /**
+     * Draw status bar with statusText, without showing it.
+     */
+    private void drawStatus(String statusText) {
+        // Draw status bar background.
+        final Color STATUS_BAR_COLOR = Color.BLACK;
+        StdDraw.setPenColor(STATUS_BAR_COLOR);
+        double statusBarWidth = maxX - minX + 1;
+        double statusBarHeight = STATUS_BAR_ROW_COUNT;
+        double statusBarCenterX = minX + (statusBarWidth / 2);
+        double statusBarCenterY =  maxY - (statusBarHeight / 2);
+        StdDraw.filledRectangle(statusBarCenterX, statusBarCenterY, statusBarWidth / 2, statusBarHeight / 2);
+        // Draw status text
+        final Color PEN_COLOR = Color.WHITE;
+        StdDraw.setPenColor(PEN_COLOR);
+        final Font STATUS_TEXT_FONT = new Font("Monaco", Font.BOLD, tileSize - 2);
+        StdDraw.setFont(STATUS_TEXT_FONT);
+        StdDraw.textLeft(minX, statusBarCenterY, statusText);
+        // Draw bottom line of status bar.
+        final double STATUS_BAR_BOTTOM_LINE_Y = maxY - STATUS_BAR_ROW_COUNT;
+        StdDraw.line(minX, STATUS_BAR_BOTTOM_LINE_Y, maxX, STATUS_BAR_BOTTOM_LINE_Y);
+        statusDirty = false;
+    }
+
+    /**
+     * Draw ending dialog with msg over tiles of world, without showing it.
+     */
+    private void drawEndingDialog(String msg) {
+        // Draw dialog background.
+        final Color DIALOG_BK_COLOR = Color.BLACK;
+        StdDraw.setPenColor(DIALOG_BK_COLOR);
+        double dialogWidth = (double) (maxX - minX + 1) / 3;
+        double dialogHeight = (double) (maxY - minY + 1) / 2;
+        double dialogCenterX = minX + (maxX - minX + 1 - dialogWidth) / 2 + (dialogWidth / 2);
+        double dialogCenterY = maxY - (maxY - minY + 1 - dialogHeight) / 2 - (dialogHeight / 2);
+        StdDraw.filledRectangle(dialogCenterX, dialogCenterY, dialogWidth / 2, dialogHeight / 2);
+        // Draw msg text
+        final Color DIALOG_PEN_COLOR = Color.WHITE;
+        StdDraw.setPenColor(DIALOG_PEN_COLOR);
+        final Font DIALOG_TEXT_FONT = new Font("Monaco", Font.BOLD, tileSize - 2);
+        StdDraw.setFont(DIALOG_TEXT_FONT);
+        StdDraw.text(dialogCenterX, dialogCenterY, msg);
+        // Draw exit button
+        StdDraw.text(dialogCenterX, dialogCenterY - 1, "press \"" + QUIT_GAME_COMMAND + "\" to exit game");
+        endingDialogDrawn = true;
+    }
+
+    /**
+     * Repaint all tiles of world inside view, without showing them.
+     * Partly visible tiles of the top row may cover status bar and dialog, so they are drawn again.
+     */
+    private void drawWorldTiles() {
+        // Draw world tiles background.
+        final Color WORLD_COLOR = Color.BLACK;
+        StdDraw.setPenColor(WORLD_COLOR);
+        double worldWidth = maxX - minX;
+        double worldHeight = maxY - minY - STATUS_BAR_ROW_COUNT;
+        double worldCenterX = (minX + maxX) / 2;
+        double worldCenterY = (minY + maxY - STATUS_BAR_ROW_COUNT) / 2;
+        StdDraw.filledRectangle(worldCenterX, worldCenterY, worldWidth / 2, worldHeight / 2);
+        // Draw tiles of world, copied chunk by chunk.
+        int fromX = camera.minTileX();
+        int fromY = camera.minTileY();
+        TETile[][] tiles = world.tiles(fromX, fromY, camera.maxTileX() - fromX + 1, camera.maxTileY() - fromY + 1);
+        for (int x = 0; x < tiles.length; x += 1) {
+            for (int y = 0; y < tiles[0].length; y += 1) {
+                tileAtlas.draw(tiles[x][y], fromX + x - camera.x(), fromY + y - camera.y());
+            }
+        }
+        viewDirty = false;
+        statusDirty = true;
+        endingDialogDrawn = false;
+    }
+
+    /**
+     * Whether anything changes since the last frame.
+     */
+    private boolean isFrameDirty() {
+        return viewDirty || statusDirty || (inEndingDialogMode && !endingDialogDrawn);
+    }
+
+    /**
+     * Draw every change since the last frame, then show them at once as one frame.
+     */
+    private void renderFrame() {
+        if (viewDirty) {
+            drawWorldTiles();
+        }
+        if (statusDirty) {
+            drawStatus(statusText());
+        }
+        if (inEndingDialogMode && !endingDialogDrawn) {
+            drawEndingDialog(GOAL_FOUND_MESSAGE);
+        }
+        StdDraw.show();
+    }
+
+    @Override
+    public void show() {
+        if (config.hideInterface) {
+            return;
+        }
+        final Color BACKGROUND_COLOR = Color.BLACK;
+        StdDraw.clear(BACKGROUND_COLOR);
+        drawWorldTiles();
+        drawStatus(statusText());
+        if (inEndingDialogMode) {
+            drawEndingDialog(GOAL_FOUND_MESSAGE);
+        }
+        StdDraw.show();
+    }
+
+    @Override
+    public void start(InputDevice inputDevice) {
+        if (inputDevice == null) {
+            throw new IllegalArgumentException("No input to chunked world interface.");
+        }
+        show();
+        // All drawing happens in this loop, at most one frame per FRAME_INTERVAL_NANOS, the same as WorldInterface.
+        long lastFrameTime = System.nanoTime();
+        long nextStatusRefreshTime = System.nanoTime() + STATUS_REFRESH_INTERVAL_NANOS;
+        while (inputDevice.possibleNextInput()) {
+            if (!config.hideInterface) {
+                long now = System.nanoTime();
+                if (nextStatusRefreshTime - now <= 0) {
+                    // Mouse moves without events, so hovered cell is checked periodically.
+                    if (!inQueryCommandMode && updateHover()) {
+                        statusDirty = true;
+                    }
+                    nextStatusRefreshTime = now + STATUS_REFRESH_INTERVAL_NANOS;
+                }
+                boolean frameDue = now - lastFrameTime >= FRAME_INTERVAL_NANOS;
+                if (frameDue && camera.step()) {
+                    viewDirty = true;
+                }
+                if (frameDue && isFrameDirty()) {
+                    renderFrame();
+                    lastFrameTime = now;
+                }
+            }
+            long nextWakeTime = nextStatusRefreshTime;
+            if (!config.hideInterface && (camera.isScrolling() || isFrameDirty())
+                    && lastFrameTime + FRAME_INTERVAL_NANOS - nextWakeTime < 0) {
+                nextWakeTime = lastFrameTime + FRAME_INTERVAL_NANOS;
+            }
+            Character polledKey = inputDevice.pollNextKey(
+                    Math.max(0, nextWakeTime - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (polledKey == null) {
+                continue;
+            }
+            char gotKey = Character.toLowerCase(polledKey);
+            if (inQueryCommandMode) {
+                inputCommandSB.append(gotKey);
+                statusDirty = true;
+                if (gotKey == QUIT_GAME_COMMAND) {
+                    // Save and quit.
+                    saveWorld();
+                    quitRequested = true;
+                    return;
+                }
+            } else if (inEndingDialogMode) {
+                if (gotKey == QUIT_GAME_COMMAND) {
+                    quitRequested = true;
+                    return;
+                }
+            } else if (gotKey == QUERY_COMMAND_KEY) {
+                inQueryCommandMode = true;
+                inputCommandSB.append(gotKey);
+                statusDirty = true;
+            } else if (directionKeyMap.containsKey(gotKey)) {
+                world.moveUser(directionKeyMap.get(gotKey));
+                Point userPosition = world.userPosition();
+                camera.follow(userPosition.x, userPosition.y);
+                viewDirty = true;
+                // Without interface, there is no dialog to leave, so the user keeps moving.
+                if (world.foundGoal() && !config.hideInterface) {
+                    inEndingDialogMode = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Save current world to file of chunked world, loaded instead of fixed size world while chunkedWorld is set.
+     */
+    private void saveWorld() {
+        try {
+            ChunkedWorldFile.save(world, config.chunkedSavePath());
+        } catch (IOException e) {
+            System.out.println(e);
+        }
+    }
+
+    /**
+     * Tiles of a view sized area centered on the user, as the world has no fixed size to copy as a whole.
+     * The area does not follow the camera, so a loaded world gives the same tiles as the world it is saved from.
+     */
+    public TETile[][] worldTiles() {
+        Point userPosition = world.userPosition();
+        return world.tiles(userPosition.x - camera.viewWidth() / 2, userPosition.y - camera.viewHeight() / 2,
+                camera.viewWidth(), camera.viewHeight());
+    }
+}
@@ -1,10 +1,16 @@
 package UserInterfaceEngine;
 
 import Core.Config;
+import Entity.ChunkedWorld;
+import Entity.ChunkedWorldFile;
 import Entity.World;
+import Entity.WorldFile;
+import Entity.WorldJournal;
 import Input.InputDevice;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class LoadGameInterface extends BaseInterface {
     public LoadGameInterface (Config config) {
@@ -19,25 +25,35 @@ public class LoadGameInterface extends BaseInterface {
 
     @Override
     public void start(InputDevice inputDevice) {
-        File file = new File(config.FILE_NAME);
-        if (!file.exists()) {
-            System.out.println("file not found");
-            System.exit(0);
-        }
+        Path journalPath = config.journalPath();
+        Path worldPath = config.savePath();
         try {
-            FileInputStream fileInStream = new FileInputStream(file);
-            ObjectInputStream objectInStream = new ObjectInputStream(fileInStream);
-            World savedWorld = (World) objectInStream.readObject();
-            nextUserInterface = new WorldInterface(config, savedWorld);
-        } catch (FileNotFoundException e) {
-            System.out.println("file not found");
-            System.exit(0);
+            if (config.chunkedWorld) {
+                loadChunkedWorld();
+            } else if (Files.exists(journalPath)) {
+                WorldJournal.Replay replay = WorldJournal.replay(journalPath);
+                nextUserInterface = new WorldInterface(config, replay);
+            } else if (Files.exists(worldPath)) {
+                World savedWorld = WorldFile.load(worldPath);
+                nextUserInterface = new WorldInterface(config, savedWorld);
+            } else {
+                System.out.println("file not found");
+                quitRequested = true;
+            }
         } catch (IOException e) {
             System.out.println(e);
-            System.exit(0);
-        } catch (ClassNotFoundException e) {
-            System.out.println("class not found");
-            System.exit(0);
+            quitRequested = true;
+        }
+    }
+
+    private void loadChunkedWorld() throws IOException {
+        Path chunkedPath = config.chunkedSavePath();
+        if (Files.exists(chunkedPath)) {
+            ChunkedWorld savedWorld = ChunkedWorldFile.load(chunkedPath);
+            nextUserInterface = new ChunkedWorldInterface(config, savedWorld);
+        } else {
+            System.out.println("file not found");
+            quitRequested = true;
         }
     }
 }
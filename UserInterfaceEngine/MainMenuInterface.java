@@ -73,7 +73,7 @@ public class MainMenuInterface extends BaseInterface {
             switch (selectedItem) {
                 case NEW_GAME -> nextUserInterface = new NewGameInterface(config);
                 case LOAD_GAME -> nextUserInterface = new LoadGameInterface(config);
-                case QUIT -> System.exit(0);
+                case QUIT -> quitRequested = true;
                 default -> finished = false;
             }
             if (finished) {
@@ -79,7 +79,11 @@ public class NewGameInterface extends BaseInterface {
                         nextUserInterface = new MainMenuInterface(config);
                         break;
                     case START_GAME:
-                        nextUserInterface = new WorldInterface(config, seed);
+                        if (config.chunkedWorld) {
+                            nextUserInterface = new ChunkedWorldInterface(config, seed);
+                        } else {
+                            nextUserInterface = new WorldInterface(config, seed);
+                        }
                         break;
                     default:
                         finished = false;
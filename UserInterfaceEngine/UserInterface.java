@@ -23,6 +23,12 @@ public interface UserInterface {
      */
     void start(InputDevice inputDevice);
 
+    /**
+     * Whether the user quits the game in this frame, no frame follows it.
+     * @return True, if the game is quitted, else false.
+     */
+    boolean quitRequested();
+
     /**
      * Is there having next frame resulting from this frame.
      * @return True, if there have any frame, else false.
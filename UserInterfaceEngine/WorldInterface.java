@@ -1,18 +1,33 @@
 package UserInterfaceEngine;
 
 import Core.Config;
+import Core.LatencyHistogram;
+import Core.SaveMode;
+import Entity.FieldOfView;
 import Entity.World;
+import Entity.WorldFile;
+import Entity.WorldJournal;
+import Entity.WorldView;
+import Input.StringInput;
 import Input.InputDevice;
 import Shape.Direction;
+import TileEngine.Camera;
+import TileEngine.DirtyCells;
 import TileEngine.TETile;
+import TileEngine.TileAtlas;
+import TileEngine.Tileset;
 import edu.princeton.cs.introcs.StdDraw;
 
 import java.awt.*;
 import java.io.*;
-import java.util.Date;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class WorldInterface extends BaseInterface {
     /**
@@ -27,6 +42,22 @@ public class WorldInterface extends BaseInterface {
      * Command for quitting game.
      */
     private final char QUIT_GAME_COMMAND = 'q';
+    /**
+     * Suffix of journal file being written before the game is saved.
+     */
+    private final String JOURNAL_WORKING_SUFFIX = ".tmp";
+    /**
+     * Interval of checking whether status bar changes, e.g. description of tile under mouse.
+     */
+    private final long STATUS_REFRESH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    /**
+     * Shortest interval between frames, changes within the interval are shown together in one frame.
+     */
+    private final long FRAME_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+    /**
+     * Message of ending dialog when the user finds the goal.
+     */
+    private final String GOAL_FOUND_MESSAGE = "Congratulation! You find the treasure!";
     /**
      * Boundary coordinate of canvas.
      */
@@ -39,25 +70,49 @@ public class WorldInterface extends BaseInterface {
      */
     private final int tileSize;
     private final World world;
-    private final TETile[][] tiles;
+    private final Camera camera; // View over world following the user.
+    private final WorldView worldView; // Current tiles of world, read without copying.
+    private TileAtlas tileAtlas; // Pre-rendered images of tiles, null if interface is hidden.
+    private FieldOfView fieldOfView; // Cells seen by the user, null if the whole world is drawn.
+    private final IdentityHashMap<TETile, TETile> rememberedTiles; // Dimmed tiles drawn on explored cells out of sight.
     private final HashMap<Character, Direction> directionKeyMap;
     private boolean inQueryCommandMode;
     private boolean inEndingDialogMode;
+    private boolean endingDialogDrawn; // Whether ending dialog is drawn over current tiles of world.
+    private boolean statusDirty; // Whether status bar changes since the last frame.
+    private int hoveredX; // X of the explored cell under mouse when status is drawn, -1 if none.
+    private int hoveredY; // Y of the explored cell under mouse when status is drawn, -1 if none.
+    private TETile hoveredTile; // Tile of the hovered cell when status is drawn, null if none.
     private final StringBuilder inputCommandSB;
+    private WorldJournal journal; // Keys typed since generation, null if the world is saved as a whole.
+    private final EnumMap<Metric, LatencyHistogram> latencyHistograms; // Latencies measured while started.
+    private MetricsListener metricsListener; // Listener of latencies, null if nobody listens.
 
-    private class RefreshTask extends TimerTask {
-        private final Runnable command;
+    /**
+     * Latencies measured by world interface while the interface is shown.
+     */
+    public enum Metric {
+        /** From a key read to the frame showing its result. */
+        INPUT_TO_FRAME,
+        /** Repainting tiles of world, of a moving key or a scroll frame. */
+        RENDER,
+        /** Repainting the status bar. */
+        STATUS_REFRESH
+    }
 
-        public RefreshTask(Runnable command) {
-            this.command = command;
-        }
+    /**
+     * Listener of latencies measured by world interface.
+     */
+    public interface MetricsListener {
+        /**
+         * Called after each latency is measured.
+         */
+        void latencyRecorded(Metric metric, long nanos);
 
-        @Override
-        public void run () {
-            if (command != null) {
-                command.run();
-            }
-        }
+        /**
+         * Called once when the interface exits, with histograms of all latencies measured.
+         */
+        void exited(Map<Metric, LatencyHistogram> histograms);
     }
 
     public WorldInterface(Config config, World world) {
@@ -65,33 +120,119 @@ public class WorldInterface extends BaseInterface {
         if (world == null) {
             throw new IllegalArgumentException("Cannot instantiate world userInterface with null world.");
         }
+        this.world = world;
+        this.camera = createCamera(config, world);
         this.minX = 0;
-        this.maxX = world.width();
+        this.maxX = camera.viewWidth();
         this.minY = 0;
-        this.maxY = world.height() + STATUS_BAR_ROW_COUNT;
-        this.tileSize = width() / world.width();
-        this.world = world;
-        this.tiles = world.tiles();
+        this.maxY = camera.viewHeight() + STATUS_BAR_ROW_COUNT;
+        this.tileSize = Math.min(width() / (maxX - minX), height() / (maxY - minY));
+        this.worldView = world;
         this.directionKeyMap = new HashMap<>();
         this.inputCommandSB = new StringBuilder();
+        this.rememberedTiles = new IdentityHashMap<>();
+        this.latencyHistograms = createLatencyHistograms();
         initialize();
+        // The world is not generated from a known seed, so the journal starts from a snapshot.
+        startJournal(0, true);
     }
 
     public WorldInterface(Config config, long seed) {
         super(config);
-        this.minX = 0;
-        this.maxX = config.worldWidth;
-        this.minY = 0;
-        this.maxY = config.worldHeight + STATUS_BAR_ROW_COUNT;
-        int sizeX = maxX - minX + 1;
-        int sizeY = maxY - minY + 1;
-        this.tileSize = Math.min(width() / sizeX, height() / sizeY);
         this.world = new World(config.worldWidth, config.worldHeight);
         this.world.randWorld(seed);
-        this.tiles = world.tiles();
+        this.camera = createCamera(config, world);
+        this.minX = 0;
+        this.maxX = camera.viewWidth();
+        this.minY = 0;
+        this.maxY = camera.viewHeight() + STATUS_BAR_ROW_COUNT;
+        this.tileSize = Math.min(width() / (maxX - minX), height() / (maxY - minY));
+        this.worldView = world;
         this.directionKeyMap = new HashMap<>();
         this.inputCommandSB = new StringBuilder();
+        this.rememberedTiles = new IdentityHashMap<>();
+        this.latencyHistograms = createLatencyHistograms();
         initialize();
+        startJournal(seed, false);
+    }
+
+    /**
+     * World interface of saved journal, replaying keys typed after the last snapshot of journal.
+     */
+    public WorldInterface(Config config, WorldJournal.Replay replay) {
+        super(config);
+        if (replay == null) {
+            throw new IllegalArgumentException("Cannot instantiate world userInterface with null replay.");
+        }
+        this.world = replay.world;
+        this.camera = createCamera(config, world);
+        this.minX = 0;
+        this.maxX = camera.viewWidth();
+        this.minY = 0;
+        this.maxY = camera.viewHeight() + STATUS_BAR_ROW_COUNT;
+        this.tileSize = Math.min(width() / (maxX - minX), height() / (maxY - minY));
+        this.directionKeyMap = new HashMap<>();
+        this.inputCommandSB = new StringBuilder();
+        this.rememberedTiles = new IdentityHashMap<>();
+        this.latencyHistograms = createLatencyHistograms();
+        initialize();
+        continueJournal(replay);
+        replayMoves(new StringInput(replay.keys));
+        if (fieldOfView != null) {
+            fieldOfView.update();
+        }
+        Point userPosition = world.userPosition();
+        camera.center(userPosition.x, userPosition.y);
+        this.worldView = world;
+    }
+
+    private static Camera createCamera(Config config, World world) {
+        Camera camera = new Camera(world.width(), world.height(), config.viewWidth, config.viewHeight,
+                config.cameraMargin);
+        Point userPosition = world.userPosition();
+        camera.center(userPosition.x, userPosition.y);
+        camera.setSmoothScrolling(config.smoothScrolling);
+        return camera;
+    }
+
+    private static EnumMap<Metric, LatencyHistogram> createLatencyHistograms() {
+        EnumMap<Metric, LatencyHistogram> histograms = new EnumMap<>(Metric.class);
+        for (Metric metric: Metric.values()) {
+            histograms.put(metric, new LatencyHistogram(metric.name()));
+        }
+        return histograms;
+    }
+
+    public void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Histograms of latencies measured since the interface started.
+     */
+    public Map<Metric, LatencyHistogram> latencyHistograms() {
+        return latencyHistograms;
+    }
+
+    private void recordLatency(Metric metric, long nanos) {
+        latencyHistograms.get(metric).record(nanos);
+        if (metricsListener != null) {
+            metricsListener.latencyRecorded(metric, nanos);
+        }
+    }
+
+    /**
+     * Hand latency histograms to listener, and print them if configured, when the interface exits.
+     */
+    private void dumpLatencyMetrics() {
+        if (metricsListener != null) {
+            metricsListener.exited(latencyHistograms);
+        }
+        if (config.printLatencyMetrics) {
+            for (LatencyHistogram histogram: latencyHistograms.values()) {
+                System.out.println(histogram);
+            }
+        }
     }
 
     private void initialize() {
@@ -101,18 +242,150 @@ public class WorldInterface extends BaseInterface {
         directionKeyMap.put('a', Direction.LEFT);
         inQueryCommandMode = false;
         inEndingDialogMode = false;
+        endingDialogDrawn = false;
+        statusDirty = true;
+        hoveredX = -1;
+        hoveredY = -1;
+        hoveredTile = null;
         inputCommandSB.setLength(0);
         if (!config.hideInterface) {
             StdDraw.setCanvasSize(width(), height());
             StdDraw.setXscale(minX, maxX);
             StdDraw.setYscale(minY, maxY);
+            final Font TILE_FONT = new Font("Monaco", Font.BOLD, tileSize - 2);
+            tileAtlas = new TileAtlas(width(), height(), minX, maxX, minY, maxY, TILE_FONT);
+            if (config.fogOfWar) {
+                fieldOfView = new FieldOfView(world, FieldOfView.DEFAULT_RADIUS);
+            }
         }
     }
 
-    private void showStatus() {
-        if (config.hideInterface) {
+    private Path journalWorkingPath() {
+        return config.saveDirectory.resolve(config.JOURNAL_FILE_NAME + JOURNAL_WORKING_SUFFIX);
+    }
+
+    /**
+     * Start journal of world if saving by journal.
+     * @param seed seed generating the world.
+     * @param withSnapshot whether to snapshot the world first, if it is not generated by seed.
+     */
+    private void startJournal(long seed, boolean withSnapshot) {
+        if (config.saveMode != SaveMode.JOURNAL) {
+            return;
+        }
+        try {
+            journal = WorldJournal.create(journalWorkingPath(), world, seed, WorldJournal.DEFAULT_SNAPSHOT_INTERVAL);
+            if (withSnapshot) {
+                journal.appendSnapshot();
+            }
+        } catch (IOException e) {
+            System.out.println(e);
+            discardJournal();
+        }
+    }
+
+    /**
+     * Continue saved journal if saving by journal, the journal is appended to a copy of the saved journal.
+     */
+    private void continueJournal(WorldJournal.Replay replay) {
+        if (config.saveMode != SaveMode.JOURNAL) {
+            return;
+        }
+        try {
+            Files.copy(config.journalPath(), journalWorkingPath(), StandardCopyOption.REPLACE_EXISTING);
+            journal = WorldJournal.append(journalWorkingPath(), replay, WorldJournal.DEFAULT_SNAPSHOT_INTERVAL);
+        } catch (IOException e) {
+            System.out.println(e);
+            discardJournal();
+        }
+    }
+
+    /**
+     * Append typed key to journal, saving falls back to the whole world if journal cannot be written.
+     */
+    private void journalKey(char key) {
+        if (journal == null) {
             return;
         }
+        try {
+            journal.appendKey(key);
+        } catch (IOException e) {
+            System.out.println(e);
+            discardJournal();
+        }
+    }
+
+    /**
+     * Close and delete journal not saved.
+     */
+    private void discardJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println(e);
+            }
+            journal = null;
+        }
+        try {
+            Files.deleteIfExists(journalWorkingPath());
+        } catch (IOException e) {
+            System.out.println(e);
+        }
+    }
+
+    /**
+     * Apply moving keys of input to world, without showing or journaling them.
+     */
+    private void replayMoves(InputDevice inputDevice) {
+        while (inputDevice.possibleNextInput()) {
+            char gotKey = Character.toLowerCase(inputDevice.getNextKey());
+            if (directionKeyMap.containsKey(gotKey)) {
+                world.moveUser(directionKeyMap.get(gotKey));
+            }
+        }
+    }
+
+    /**
+     * Update hovered cell to the explored cell under mouse, and hovered tile to its current tile.
+     * @return True, if the hovered cell or its tile changes.
+     */
+    private boolean updateHover() {
+        int tileX = (int) Math.floor(StdDraw.mouseX() + camera.x());
+        int tileY = (int) Math.floor(StdDraw.mouseY() + camera.y());
+        TETile tile = null;
+        if (camera.inView(tileX, tileY) && StdDraw.mouseY() < maxY - STATUS_BAR_ROW_COUNT
+                && (fieldOfView == null || fieldOfView.isExplored(tileX, tileY))) {
+            tile = worldView.tileAt(tileX, tileY);
+        } else {
+            tileX = -1;
+            tileY = -1;
+        }
+        boolean changed = tileX != hoveredX || tileY != hoveredY || tile != hoveredTile;
+        hoveredX = tileX;
+        hoveredY = tileY;
+        hoveredTile = tile;
+        return changed;
+    }
+
+    /**
+     * Text of status bar, the command being typed, or description of the hovered cell.
+     */
+    private String statusText() {
+        if (inQueryCommandMode) {
+            return inputCommandSB.toString();
+        }
+        updateHover();
+        if (hoveredTile == null) {
+            return "";
+        }
+        return worldView.descriptionAt(hoveredX, hoveredY);
+    }
+
+    /**
+     * Draw status bar with statusText, without showing it.
+     */
+    private void drawStatus(String statusText) {
         // Draw status bar background.
         final Color STATUS_BAR_COLOR = Color.BLACK;
         StdDraw.setPenColor(STATUS_BAR_COLOR);
@@ -126,30 +399,17 @@ public class WorldInterface extends BaseInterface {
         StdDraw.setPenColor(PEN_COLOR);
         final Font STATUS_TEXT_FONT = new Font("Monaco", Font.BOLD, tileSize - 2);
         StdDraw.setFont(STATUS_TEXT_FONT);
-        String statusText;
-        if (inQueryCommandMode) {
-            statusText = inputCommandSB.toString();
-        } else {
-            // Draw mouse currently pointing tile.
-            int tileX = (int) Math.floor(StdDraw.mouseX());
-            int tileY = (int) Math.floor(StdDraw.mouseY());
-            if (0 < tiles.length && tileX < tiles.length && tileY < tiles[0].length) {
-                statusText = tiles[tileX][tileY].description();
-            } else {
-                statusText = "";
-            }
-        }
         StdDraw.textLeft(minX, statusBarCenterY, statusText);
         // Draw bottom line of status bar.
         final double STATUS_BAR_BOTTOM_LINE_Y = maxY - STATUS_BAR_ROW_COUNT;
         StdDraw.line(minX, STATUS_BAR_BOTTOM_LINE_Y, maxX, STATUS_BAR_BOTTOM_LINE_Y);
-        StdDraw.show();
+        statusDirty = false;
     }
 
-    private void showEndingDialog(String msg) {
-        if (config.hideInterface) {
-            return;
-        }
+    /**
+     * Draw ending dialog with msg over tiles of world, without showing it.
+     */
+    private void drawEndingDialog(String msg) {
         // Draw dialog background.
         final Color DIALOG_BK_COLOR = Color.BLACK;
         StdDraw.setPenColor(DIALOG_BK_COLOR);
@@ -166,16 +426,14 @@ public class WorldInterface extends BaseInterface {
         StdDraw.text(dialogCenterX, dialogCenterY, msg);
         // Draw exit button
         StdDraw.text(dialogCenterX, dialogCenterY - 1, "press \"" + QUIT_GAME_COMMAND + "\" to exit game");
-        StdDraw.show();
-        // Update status
-        inEndingDialogMode = true;
+        endingDialogDrawn = true;
     }
 
-    private void showWorldTiles() {
-        if (config.hideInterface) {
-            return;
-        }
-        TETile[][] worldTiles = world.tiles();
+    /**
+     * Repaint all tiles of world inside view, without showing them.
+     * Partly visible tiles of the top row may cover status bar and dialog, so they are drawn again.
+     */
+    private void drawWorldTiles() {
         // Draw world tiles background.
         final Color WORLD_COLOR = Color.BLACK;
         StdDraw.setPenColor(WORLD_COLOR);
@@ -185,23 +443,123 @@ public class WorldInterface extends BaseInterface {
         double worldCenterY = (minY + maxY - STATUS_BAR_ROW_COUNT) / 2;
         StdDraw.filledRectangle(worldCenterX, worldCenterY, worldWidth / 2, worldHeight / 2);
         // Draw tiles of world.
-        int worldXSize = worldTiles.length;
         if (worldWidth <= 0) {
             return;
         }
-        int worldYSize = worldTiles[0].length;
-        for (int x = 0; x < worldXSize; x += 1) {
-            for (int y = 0; y < worldYSize; y += 1) {
-                if (worldTiles[x][y] == null) {
-                    throw new IllegalArgumentException("Tile at position x=" + x + ", y=" + y
-                            + " is null.");
+        for (int x = camera.minTileX(); x <= camera.maxTileX(); x += 1) {
+            for (int y = camera.minTileY(); y <= camera.maxTileY(); y += 1) {
+                if (fieldOfView != null && !fieldOfView.isExplored(x, y)) {
+                    continue; // Unexplored cells stay as background.
                 }
-                worldTiles[x][y].draw(x, y);
+                drawCell(x, y);
+            }
+        }
+        world.dirtyCells().clear();
+        statusDirty = true;
+        endingDialogDrawn = false;
+    }
+
+    /**
+     * Repaint tiles of world inside view changed since last repaint, or all tiles if the whole world changed,
+     * without showing them.
+     */
+    private void drawDirtyWorldTiles() {
+        DirtyCells dirtyCells = world.dirtyCells();
+        if (dirtyCells.isAllDirty()) {
+            drawWorldTiles();
+            return;
+        }
+        if (dirtyCells.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < dirtyCells.size(); i++) {
+            int x = dirtyCells.x(i);
+            int y = dirtyCells.y(i);
+            if (camera.inView(x, y)) {
+                drawCell(x, y);
             }
         }
+        dirtyCells.clear();
+    }
+
+    /**
+     * Whether anything changes since the last frame.
+     */
+    private boolean isFrameDirty() {
+        return !world.dirtyCells().isEmpty() || statusDirty || (inEndingDialogMode && !endingDialogDrawn);
+    }
+
+    /**
+     * Draw every change since the last frame, then show them at once as one frame.
+     */
+    private void renderFrame() {
+        drawDirtyWorldTiles();
+        if (statusDirty) {
+            long refreshStartTime = System.nanoTime();
+            drawStatus(statusText());
+            recordLatency(Metric.STATUS_REFRESH, System.nanoTime() - refreshStartTime);
+        }
+        if (inEndingDialogMode && !endingDialogDrawn) {
+            drawEndingDialog(GOAL_FOUND_MESSAGE);
+        }
         StdDraw.show();
     }
 
+    /**
+     * Draw tile of world at (x, y) relative to view, dimmed if it is explored but out of sight,
+     * or nothing if it is unexplored.
+     */
+    private void drawCell(int x, int y) {
+        TETile tile = world.tileAt(x, y);
+        if (fieldOfView != null && !fieldOfView.isVisible(x, y)) {
+            tile = fieldOfView.isExplored(x, y) ? rememberedTile(tile) : Tileset.NOTHING;
+        }
+        tileAtlas.draw(tile, x - camera.x(), y - camera.y());
+    }
+
+    private TETile rememberedTile(TETile tile) {
+        TETile remembered = rememberedTiles.get(tile);
+        if (remembered == null) {
+            remembered = TETile.intern(new TETile(tile.character(), tile.textColor().darker().darker(),
+                    tile.backgroundColor().darker().darker(), tile.description(), tile.filepath()));
+            rememberedTiles.put(tile, remembered);
+        }
+        return remembered;
+    }
+
+    /**
+     * Recompute field of view after the user moved, marking cells whose visibility may change as dirty.
+     */
+    private void updateFieldOfView() {
+        if (fieldOfView == null) {
+            return;
+        }
+        DirtyCells dirtyCells = world.dirtyCells();
+        markWindowDirty(dirtyCells);
+        fieldOfView.update();
+        markWindowDirty(dirtyCells);
+    }
+
+    private void markWindowDirty(DirtyCells dirtyCells) {
+        int side = fieldOfView.windowSide();
+        for (int x = fieldOfView.windowMinX(); x < fieldOfView.windowMinX() + side; x++) {
+            for (int y = fieldOfView.windowMinY(); y < fieldOfView.windowMinY() + side; y++) {
+                dirtyCells.mark(x, y);
+            }
+        }
+    }
+
+    /**
+     * Let camera follow the user, repainting the whole view if it jumps.
+     * Smooth scrolling is painted frame by frame in start.
+     */
+    private void followUser() {
+        Point userPosition = world.userPosition();
+        if (camera.follow(userPosition.x, userPosition.y) && !config.smoothScrolling) {
+            world.dirtyCells().markAll();
+        }
+    }
+
     @Override
     public void show() {
         if (config.hideInterface) {
@@ -209,8 +567,12 @@ public class WorldInterface extends BaseInterface {
         }
         final Color BACKGROUND_COLOR = Color.BLACK;
         StdDraw.clear(BACKGROUND_COLOR);
-        showStatus();
-        showWorldTiles();
+        drawWorldTiles();
+        drawStatus(statusText());
+        if (inEndingDialogMode) {
+            drawEndingDialog(GOAL_FOUND_MESSAGE);
+        }
+        StdDraw.show();
     }
 
     @Override
@@ -218,60 +580,114 @@ public class WorldInterface extends BaseInterface {
         if (inputDevice == null) {
             throw new IllegalArgumentException("No input to world interface.");
         }
+        long showStartTime = System.nanoTime();
         show();
-        TimerTask refreshStatusTask = new RefreshTask(this::showStatus);
-        Timer refreshTimer = new Timer();
+        if (!config.hideInterface) {
+            recordLatency(Metric.RENDER, System.nanoTime() - showStartTime);
+        }
+        /* All drawing happens in this loop. Keys only change state and mark what changes, and at most one frame
+           per FRAME_INTERVAL_NANOS shows all changes together, frames are skipped while nothing changes. */
+        long lastFrameTime = System.nanoTime();
+        long nextStatusRefreshTime = System.nanoTime() + STATUS_REFRESH_INTERVAL_NANOS;
+        long firstUnshownKeyTime = 0; // Read time of the first key changing the view not shown yet.
+        boolean hasUnshownKey = false;
         try {
-            refreshTimer.scheduleAtFixedRate(refreshStatusTask, new Date(), 100);
             while (inputDevice.possibleNextInput()) {
-                char gotKey = Character.toLowerCase(inputDevice.getNextKey());
+                if (!config.hideInterface) {
+                    long now = System.nanoTime();
+                    if (nextStatusRefreshTime - now <= 0) {
+                        // Mouse moves without events, so hovered cell is checked periodically.
+                        if (!inQueryCommandMode && updateHover()) {
+                            statusDirty = true;
+                        }
+                        nextStatusRefreshTime = now + STATUS_REFRESH_INTERVAL_NANOS;
+                    }
+                    boolean frameDue = now - lastFrameTime >= FRAME_INTERVAL_NANOS;
+                    if (frameDue && camera.step()) {
+                        world.dirtyCells().markAll();
+                    }
+                    if (frameDue && isFrameDirty()) {
+                        renderFrame();
+                        long frameTime = System.nanoTime();
+                        recordLatency(Metric.RENDER, frameTime - now);
+                        if (hasUnshownKey) {
+                            recordLatency(Metric.INPUT_TO_FRAME, frameTime - firstUnshownKeyTime);
+                            hasUnshownKey = false;
+                        }
+                        lastFrameTime = now;
+                    }
+                }
+                long nextWakeTime = nextStatusRefreshTime;
+                if (!config.hideInterface && (camera.isScrolling() || isFrameDirty())
+                        && lastFrameTime + FRAME_INTERVAL_NANOS - nextWakeTime < 0) {
+                    nextWakeTime = lastFrameTime + FRAME_INTERVAL_NANOS;
+                }
+                Character polledKey = inputDevice.pollNextKey(
+                        Math.max(0, nextWakeTime - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (polledKey == null) {
+                    continue;
+                }
+                long keyReadTime = System.nanoTime();
+                char gotKey = Character.toLowerCase(polledKey);
                 if (inQueryCommandMode) {
                     inputCommandSB.append(gotKey);
+                    statusDirty = true;
                     if (gotKey == QUIT_GAME_COMMAND) {
-                        // Save and exit.
+                        // Save and quit.
                         saveWorld();
-                        System.out.println(TETile.toString(world.tiles()));
-                        System.exit(0);
+                        quitRequested = true;
+                        return;
                     }
                 } if (inEndingDialogMode) {
                     if (gotKey == QUIT_GAME_COMMAND) {
-                        System.out.println(TETile.toString(world.tiles()));
-                        System.exit(0);
+                        discardJournal();
+                        quitRequested = true;
+                        return;
                     }
                 } else {
                     if (gotKey == QUERY_COMMAND_KEY) {
                         inQueryCommandMode = true;
                         inputCommandSB.append(gotKey);
+                        statusDirty = true;
                     } else if (directionKeyMap.containsKey(gotKey)) {
                         Direction moveDirection = directionKeyMap.get(gotKey);
                         world.moveUser(moveDirection);
-                        if (world.foundGoal()) {
-                            showEndingDialog("Congratulation! You find the treasure!");
-                        } else {
-                            showWorldTiles();
+                        updateFieldOfView();
+                        followUser();
+                        journalKey(gotKey);
+                        // Without interface, there is no dialog to leave, so the user keeps moving.
+                        if (world.foundGoal() && !config.hideInterface) {
+                            inEndingDialogMode = true;
                         }
                     }
                 }
+                // Only keys changing what is shown wait for a frame, others would add idle time to the latency.
+                if (!hasUnshownKey && !config.hideInterface && (isFrameDirty() || camera.isScrolling())) {
+                    firstUnshownKeyTime = keyReadTime;
+                    hasUnshownKey = true;
+                }
             }
         } finally {
-            refreshTimer.cancel();
+            // Input ends without saving.
+            discardJournal();
+            dumpLatencyMetrics();
         }
     }
 
     /**
-     * Save current world object to file.
+     * Save current world to file, as journal if it is journaled, else as the whole world.
      */
     private void saveWorld() {
-        File file = new File(config.FILE_NAME);
         try {
-            if (!file.exists()) {
-                file.createNewFile();
+            if (journal != null) {
+                journal.close();
+                journal = null;
+                Files.move(journalWorkingPath(), config.journalPath(), StandardCopyOption.REPLACE_EXISTING);
+                Files.deleteIfExists(config.savePath());
+            } else {
+                WorldFile.save(world, config.savePath());
+                Files.deleteIfExists(config.journalPath());
             }
-            FileOutputStream fileOutStream = new FileOutputStream(file);
-            ObjectOutputStream objectOutStream = new ObjectOutputStream(fileOutStream);
-            objectOutStream.writeObject(world);
-        }  catch (FileNotFoundException e) {
-            System.out.println("file not found");
         } catch (IOException e) {
             System.out.println(e);
         }